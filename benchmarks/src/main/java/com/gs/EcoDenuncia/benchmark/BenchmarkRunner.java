@@ -0,0 +1,32 @@
+package com.gs.EcoDenuncia.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Aceita os mesmos argumentos do org.openjdk.jmh.Main; quando não informado, grava o resultado em JSON
+// em results/jmh-<data>.json para que execuções diferentes possam ser comparadas
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        var commandLine = new CommandLineOptions(args);
+        var options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            var dir = Files.createDirectories(Path.of("results"));
+            var stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.result(dir.resolve("jmh-" + stamp + ".json").toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
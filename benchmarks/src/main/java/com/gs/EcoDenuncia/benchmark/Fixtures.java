@@ -0,0 +1,91 @@
+package com.gs.EcoDenuncia.benchmark;
+
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
+import com.gs.EcoDenuncia.model.City;
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.Neighborhood;
+import com.gs.EcoDenuncia.model.PublicOrganization;
+import com.gs.EcoDenuncia.model.RoleType;
+import com.gs.EcoDenuncia.model.State;
+import com.gs.EcoDenuncia.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Grafo de entidades com o mesmo formato do que o Hibernate entrega aos controllers (tudo já carregado)
+public final class Fixtures {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 5, 20, 15, 0);
+
+    private Fixtures() {
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .nome("Usuário " + id)
+                .email("usuario" + id + "@ecodenuncia.com")
+                .senha("$2a$10$abcdefghijklmnopqrstuu3Y0l0Q6n1l2s5o0m9b8Q1aP6d7eW4yG")
+                .role(RoleType.USER)
+                .build();
+    }
+
+    public static Location location(long id) {
+        var estado = State.builder().id(1L).nome("São Paulo").uf("SP").build();
+        var cidade = City.builder().id(1L).nome("São Paulo").estado(estado).build();
+        var bairro = Neighborhood.builder().id(id % 50).nome("Bairro " + (id % 50)).cidade(cidade).build();
+
+        return Location.builder()
+                .id(id)
+                .logradouro("Rua das Flores")
+                .numero(String.valueOf(100 + id))
+                .complemento(id % 3 == 0 ? "Apto " + id : null)
+                .cep("01001000")
+                .bairro(bairro)
+                .build();
+    }
+
+    public static Complaint complaint(long id) {
+        return Complaint.builder()
+                .id(id)
+                .usuario(user(id % 100))
+                .localizacao(location(id % 500))
+                .orgao(PublicOrganization.builder().id(id % 10).nome("Prefeitura " + (id % 10)).areaAtuacao("Limpeza urbana").build())
+                .dataHora(BASE.plusMinutes(id))
+                .descricao("Descarte irregular de entulho e lixo doméstico na calçada, próximo ao bueiro " + id)
+                .build();
+    }
+
+    // Como sai de GET /city: entidade com o estado aninhado
+    public static List<City> cities(int size) {
+        List<City> rows = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            var estado = State.builder().id(id % 27 + 1).nome("Estado " + (id % 27 + 1)).uf("E" + (char) ('A' + id % 26)).build();
+            rows.add(City.builder().id(id).nome("Cidade " + id).estado(estado).build());
+        }
+        return rows;
+    }
+
+    public static List<ComplaintResponseDTO> complaintResponses(int size) {
+        List<ComplaintResponseDTO> rows = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            var complaint = complaint(id);
+            var localizacao = complaint.getLocalizacao();
+            rows.add(ComplaintResponseDTO.builder()
+                    .id(id)
+                    .nomeUsuario(complaint.getUsuario().getNome())
+                    .descricao(complaint.getDescricao())
+                    .dataHora(complaint.getDataHora())
+                    .nomeOrgao(complaint.getOrgao().getNome())
+                    .logradouro(localizacao.getLogradouro())
+                    .numero(localizacao.getNumero())
+                    .bairro(localizacao.getBairro().getNome())
+                    .cidade(localizacao.getBairro().getCidade().getNome())
+                    .estado(localizacao.getBairro().getCidade().getEstado().getNome())
+                    .build());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,69 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.benchmark.Fixtures;
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
+import com.gs.EcoDenuncia.dto.Location.LocationResponseDTO;
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo de converter uma página de entidades em DTO (o que index/listar faziam antes das projeções)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final ComplaintController complaintController = new ComplaintController();
+    private final LocationController locationController = new LocationController();
+
+    private List<Complaint> complaints;
+    private List<Location> locations;
+
+    @Setup
+    public void setup() {
+        complaints = new ArrayList<>(pageSize);
+        locations = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            complaints.add(Fixtures.complaint(id));
+            locations.add(Fixtures.location(id));
+        }
+    }
+
+    @Benchmark
+    public List<ComplaintResponseDTO> complaintToResponseDTO() {
+        List<ComplaintResponseDTO> page = new ArrayList<>(complaints.size());
+        for (var complaint : complaints) {
+            page.add(complaintController.toResponseDTO(complaint));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<LocationResponseDTO> locationToResponseDTO() {
+        List<LocationResponseDTO> page = new ArrayList<>(locations.size());
+        for (var location : locations) {
+            page.add(locationController.toResponseDTO(location));
+        }
+        return page;
+    }
+}
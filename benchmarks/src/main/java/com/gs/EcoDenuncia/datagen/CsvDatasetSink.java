@@ -0,0 +1,121 @@
+package com.gs.EcoDenuncia.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Grava um CSV por tabela. geography.csv sai no formato aceito por POST /admin/import/geography
+// (uf,estado,cidade,bairro,logradouro,numero,complemento,cep,latitude,longitude); os demais usam as colunas da tabela.
+public class CsvDatasetSink implements DatasetSink {
+
+    private record StateRow(String nome, String uf) {}
+
+    private record CityRow(String nome, long estadoId) {}
+
+    private record NeighborhoodRow(String nome, long cidadeId) {}
+
+    private final Map<Long, StateRow> states = new HashMap<>();
+    private final Map<Long, CityRow> cities = new HashMap<>();
+    private final Map<Long, NeighborhoodRow> neighborhoods = new HashMap<>();
+
+    private final Writer geography;
+    private final Writer organizations;
+    private final Writer users;
+    private final Writer complaints;
+    private final Writer followups;
+
+    public CsvDatasetSink(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        geography = open(directory.resolve("geography.csv"), "uf,estado,cidade,bairro,logradouro,numero,complemento,cep,latitude,longitude");
+        organizations = open(directory.resolve("organizations.csv"), "id_orgao,nome,area_atuacao");
+        users = open(directory.resolve("users.csv"), "id_usuario,nome,email,senha,role");
+        complaints = open(directory.resolve("complaints.csv"), "id_denuncia,id_usuario,id_localizacao,data_hora,descricao,id_orgao,status_atual,data_ultima_atualizacao");
+        followups = open(directory.resolve("followups.csv"), "id_acompanhamento,status,data_atualizacao,descricao,id_denuncia");
+    }
+
+    @Override
+    public void state(long id, String nome, String uf) {
+        states.put(id, new StateRow(nome, uf));
+    }
+
+    @Override
+    public void city(long id, String nome, long estadoId) {
+        cities.put(id, new CityRow(nome, estadoId));
+    }
+
+    @Override
+    public void neighborhood(long id, String nome, long cidadeId) {
+        neighborhoods.put(id, new NeighborhoodRow(nome, cidadeId));
+    }
+
+    @Override
+    public void location(long id, String logradouro, String numero, String complemento, String cep,
+                         double latitude, double longitude, long bairroId) throws IOException {
+        var bairro = neighborhoods.get(bairroId);
+        var cidade = cities.get(bairro.cidadeId());
+        var estado = states.get(cidade.estadoId());
+        row(geography, estado.uf(), estado.nome(), cidade.nome(), bairro.nome(), logradouro, numero, complemento, cep, latitude, longitude);
+    }
+
+    @Override
+    public void organization(long id, String nome, String areaAtuacao) throws IOException {
+        row(organizations, id, nome, areaAtuacao);
+    }
+
+    @Override
+    public void user(long id, String nome, String email, String senha, String role) throws IOException {
+        row(users, id, nome, email, senha, role);
+    }
+
+    @Override
+    public void complaint(long id, long usuarioId, long localizacaoId, LocalDateTime dataHora, String descricao, long orgaoId,
+                          String statusAtual, LocalDateTime dataUltimaAtualizacao) throws IOException {
+        row(complaints, id, usuarioId, localizacaoId, dataHora, descricao, orgaoId, statusAtual, dataUltimaAtualizacao);
+    }
+
+    @Override
+    public void followup(long id, String status, LocalDateTime dataAtualizacao, String descricao, long denunciaId) throws IOException {
+        row(followups, id, status, dataAtualizacao, descricao, denunciaId);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (var writer : new Writer[]{geography, organizations, users, complaints, followups}) {
+            writer.close();
+        }
+    }
+
+    private static Writer open(Path file, String header) throws IOException {
+        var writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16);
+        writer.write(header);
+        writer.write('\n');
+        return writer;
+    }
+
+    private static void row(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csv(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        var text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,268 @@
+package com.gs.EcoDenuncia.datagen;
+
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+// Gera o grafo completo (Estado -> Cidade -> Bairro -> Localização -> Denúncia -> Acompanhamento, mais Usuário e
+// Órgão) de forma reproduzível: mesma semente e mesma escala produzem exatamente as mesmas linhas.
+//
+// Escala 1 = 27 estados, 270 cidades, 5.400 bairros, ~27 mil localizações, 50 órgãos, 10 mil usuários e
+// 100 mil denúncias. As denúncias se concentram em poucos bairros e poucos usuários (Zipf), cada uma com um
+// histórico de acompanhamentos coerente com a idade (Aberto -> Em Andamento -> Concluido).
+public class DatasetGenerator {
+
+    public record Settings(long seed, double scale, LocalDateTime end, int days,
+                           double neighborhoodSkew, double userSkew, double organizationSkew,
+                           String adminEmail, String passwordHash) {
+
+        public static Settings of(long seed, double scale, String adminEmail, String passwordHash) {
+            return new Settings(seed, scale, LocalDateTime.of(2025, 6, 1, 0, 0), 730, 1.1, 1.2, 0.8, adminEmail, passwordHash);
+        }
+    }
+
+    public record Summary(long states, long cities, long neighborhoods, long locations, long organizations,
+                          long users, long complaints, long followups) {
+
+        public long rows() {
+            return states + cities + neighborhoods + locations + organizations + users + complaints + followups;
+        }
+    }
+
+    private record Followup(String status, LocalDateTime when, String descricao) {}
+
+    private static final String[][] ESTADOS = {
+            {"AC", "Acre"}, {"AL", "Alagoas"}, {"AP", "Amapá"}, {"AM", "Amazonas"}, {"BA", "Bahia"}, {"CE", "Ceará"},
+            {"DF", "Distrito Federal"}, {"ES", "Espírito Santo"}, {"GO", "Goiás"}, {"MA", "Maranhão"},
+            {"MT", "Mato Grosso"}, {"MS", "Mato Grosso do Sul"}, {"MG", "Minas Gerais"}, {"PA", "Pará"},
+            {"PB", "Paraíba"}, {"PR", "Paraná"}, {"PE", "Pernambuco"}, {"PI", "Piauí"}, {"RJ", "Rio de Janeiro"},
+            {"RN", "Rio Grande do Norte"}, {"RS", "Rio Grande do Sul"}, {"RO", "Rondônia"}, {"RR", "Roraima"},
+            {"SC", "Santa Catarina"}, {"SP", "São Paulo"}, {"SE", "Sergipe"}, {"TO", "Tocantins"}};
+
+    private static final String[] CIDADE_PREFIXOS = {"São", "Santa", "Nova", "Porto", "Campo", "Vila", "Bom", "Monte", "Rio", "Serra"};
+    private static final String[] CIDADE_NOMES = {"Alegre", "Esperança", "Vista", "Grande", "Verde", "Jardim", "Bonito",
+            "Claro", "Belo", "Formoso", "Pedro", "Luzia", "José", "Cruz", "Branco", "Largo", "Azul", "Feliz"};
+    private static final String[] BAIRRO_TIPOS = {"Jardim", "Vila", "Parque", "Conjunto", "Residencial", "Alto"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa",
+            "Ferreira", "Almeida", "Ribeiro", "Carvalho", "Gomes", "Martins", "Araújo", "Barbosa", "Rocha", "Dias",
+            "Moreira", "Cardoso", "Teixeira", "Mendes", "Nunes", "Freitas", "Campos"};
+    private static final String[] NOMES = {"Ana", "Maria", "João", "José", "Pedro", "Lucas", "Juliana", "Fernanda",
+            "Carlos", "Paulo", "Mariana", "Gabriel", "Beatriz", "Rafael", "Camila", "Bruno", "Larissa", "Thiago",
+            "Patrícia", "Rodrigo", "Aline", "Felipe", "Letícia", "Marcos"};
+    private static final String[] LOGRADOUROS = {"Rua", "Rua", "Rua", "Avenida", "Travessa", "Alameda", "Estrada"};
+
+    private static final String[] ORGAO_TIPOS = {"Secretaria de Meio Ambiente", "Subprefeitura", "Companhia de Limpeza Urbana",
+            "Secretaria de Obras", "Defesa Civil", "Companhia de Saneamento"};
+    private static final String[] AREAS = {"Meio ambiente", "Limpeza urbana", "Zeladoria", "Obras", "Defesa civil", "Saneamento"};
+
+    private static final String[] PROBLEMAS = {"Descarte irregular de lixo doméstico", "Entulho de obra abandonado",
+            "Sacos de lixo acumulados", "Móveis velhos descartados", "Pneus abandonados", "Lixo eletrônico descartado",
+            "Restos de poda acumulados", "Bueiro entupido por lixo", "Carcaça de veículo abandonada",
+            "Ponto viciado de descarte clandestino", "Colchões e sofás jogados", "Lixo hospitalar descartado"};
+    private static final String[] LOCAIS = {"na calçada", "na esquina", "em terreno baldio", "ao lado da praça",
+            "em frente à escola", "na margem do córrego", "próximo ao ponto de ônibus", "na entrada do condomínio",
+            "embaixo do viaduto", "atrás do mercado"};
+    private static final String[] DETALHES = {"há mais de uma semana", "desde o último fim de semana",
+            "todos os dias à noite", "mesmo após reclamações anteriores", "", ""};
+    private static final String[] CONSEQUENCIAS = {"Mau cheiro e presença de ratos.", "Risco de alagamento quando chove.",
+            "Atrapalha a passagem de pedestres.", "Está atraindo insetos e animais.", "Bloqueando a boca de lobo.",
+            "Crianças brincam perto do local.", "", ""};
+
+    private static final String[] TEXTO_ABERTO = {"Denúncia recebida e encaminhada ao órgão responsável.",
+            "Denúncia registrada, aguardando triagem."};
+    private static final String[] TEXTO_ANDAMENTO = {"Equipe enviada para averiguar a situação.",
+            "Vistoria realizada, remoção agendada.", "Aguardando caminhão para recolhimento.",
+            "Responsável pelo terreno notificado."};
+    private static final String[] TEXTO_CONCLUIDO = {"Material removido e local limpo.",
+            "Remoção concluída, área sinalizada contra novos descartes.", "Bueiro desobstruído pela equipe."};
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}");
+
+    // Sorteio das coordenadas num gerador à parte, para não alterar as demais colunas de uma mesma semente
+    private static final long GEO_SALT = 0x6765_6f63_6f6f_7264L;
+
+    private final Settings settings;
+
+    public DatasetGenerator(Settings settings) {
+        this.settings = settings;
+    }
+
+    public Summary generate(DatasetSink sink) throws Exception {
+        var random = new SplittableRandom(settings.seed());
+        double scale = settings.scale();
+
+        int citiesPerState = Math.max(1, (int) Math.round(10 * scale));
+        int neighborhoodsPerCity = 20;
+        int organizations = Math.max(5, (int) Math.round(50 * scale));
+        int users = Math.max(10, (int) Math.round(10_000 * scale));
+        long complaints = Math.max(1, Math.round(100_000 * scale));
+
+        for (int s = 0; s < ESTADOS.length; s++) {
+            sink.state(s + 1, ESTADOS[s][1], ESTADOS[s][0]);
+        }
+
+        long cityId = 0;
+        for (int s = 0; s < ESTADOS.length; s++) {
+            Set<String> used = new HashSet<>();
+            for (int c = 0; c < citiesPerState; c++) {
+                sink.city(++cityId, unique(used, pick(random, CIDADE_PREFIXOS) + " " + pick(random, CIDADE_NOMES)), s + 1);
+            }
+        }
+
+        // Cada cidade tem um centro dentro do território; bairros a até ~4 km dele e endereços a até ~400 m do bairro
+        var geo = new SplittableRandom(settings.seed() ^ GEO_SALT);
+        var cityCenter = new double[(int) cityId + 1][];
+        for (int c = 1; c <= cityId; c++) {
+            cityCenter[c] = new double[]{-30 + geo.nextDouble() * 27, -56 + geo.nextDouble() * 21};
+        }
+
+        // Quantidade de endereços por bairro varia de 1 a 9; guardamos o intervalo de ids de cada bairro
+        int neighborhoods = (int) (cityId * neighborhoodsPerCity);
+        var neighborhoodCenter = new double[neighborhoods + 1][];
+        var firstLocation = new long[neighborhoods + 1];
+        var locationCount = new int[neighborhoods + 1];
+        long neighborhoodId = 0;
+        long locationId = 0;
+        for (long city = 1; city <= cityId; city++) {
+            Set<String> used = new HashSet<>();
+            for (int b = 0; b < neighborhoodsPerCity; b++) {
+                var nome = b == 0 ? "Centro" : unique(used, pick(random, BAIRRO_TIPOS) + " " + pick(random, SOBRENOMES));
+                sink.neighborhood(++neighborhoodId, nome, city);
+                neighborhoodCenter[(int) neighborhoodId] = new double[]{
+                        cityCenter[(int) city][0] + (geo.nextDouble() - 0.5) * 0.08,
+                        cityCenter[(int) city][1] + (geo.nextDouble() - 0.5) * 0.08};
+            }
+        }
+        for (int b = 1; b <= neighborhoods; b++) {
+            int count = 1 + random.nextInt(9);
+            firstLocation[b] = locationId + 1;
+            locationCount[b] = count;
+            for (int l = 0; l < count; l++) {
+                sink.location(++locationId, pick(random, LOGRADOUROS) + " " + pick(random, NOMES) + " " + pick(random, SOBRENOMES),
+                        String.valueOf(1 + random.nextInt(3000)),
+                        random.nextInt(4) == 0 ? "Apto " + (1 + random.nextInt(200)) : null,
+                        String.format("%08d", 1_000_000 + random.nextInt(98_000_000)),
+                        coordinate(neighborhoodCenter[b][0] + (geo.nextDouble() - 0.5) * 0.008),
+                        coordinate(neighborhoodCenter[b][1] + (geo.nextDouble() - 0.5) * 0.008), b);
+            }
+        }
+
+        for (int o = 1; o <= organizations; o++) {
+            int tipo = random.nextInt(ORGAO_TIPOS.length);
+            sink.organization(o, ORGAO_TIPOS[tipo] + " " + o, AREAS[tipo]);
+        }
+
+        sink.user(1, "Administrador", settings.adminEmail(), settings.passwordHash(), "ADMIN");
+        for (int u = 2; u <= users; u++) {
+            var nome = pick(random, NOMES) + " " + pick(random, SOBRENOMES);
+            sink.user(u, nome, email(nome, u), settings.passwordHash(), random.nextInt(500) == 0 ? "ADMIN" : "USER");
+        }
+
+        var neighborhoodZipf = new Zipf(neighborhoods, settings.neighborhoodSkew(), random);
+        var userZipf = new Zipf(users, settings.userSkew(), random);
+        var organizationZipf = new Zipf(organizations, settings.organizationSkew(), random);
+
+        var start = settings.end().minusDays(settings.days());
+        long windowMinutes = settings.days() * 24L * 60;
+        long stepSeconds = Math.max(1, windowMinutes * 60 / complaints);
+        long followupId = 0;
+        List<Followup> history = new ArrayList<>();
+        for (long id = 1; id <= complaints; id++) {
+            // Ids crescem com o tempo, como numa sequence em produção (a variação fica dentro do intervalo de cada id)
+            var dataHora = start.plusSeconds((id - 1) * windowMinutes * 60 / complaints + random.nextLong(stepSeconds));
+            long bairro = neighborhoodZipf.next(random);
+            long localizacao = firstLocation[(int) bairro] + random.nextInt(locationCount[(int) bairro]);
+
+            long usuario = userZipf.next(random);
+            var descricao = description(random);
+            long orgao = organizationZipf.next(random);
+
+            // O histórico sai antes da denúncia para ela já nascer com o status do último acompanhamento
+            history.clear();
+            history(random, dataHora, history);
+            var last = history.isEmpty() ? null : history.get(history.size() - 1);
+            sink.complaint(id, usuario, localizacao, dataHora, descricao, orgao,
+                    last == null ? ComplaintStatus.ABERTO.name() : ComplaintStatus.parse(last.status()).orElseThrow().name(),
+                    last == null ? null : last.when());
+            for (var followup : history) {
+                sink.followup(++followupId, followup.status(), followup.when(), followup.descricao(), id);
+            }
+        }
+
+        return new Summary(ESTADOS.length, cityId, neighborhoods, locationId, organizations, users, complaints, followupId);
+    }
+
+    // Quanto mais antiga a denúncia, maior a chance de já estar em andamento ou concluída
+    private void history(SplittableRandom random, LocalDateTime dataHora, List<Followup> history) {
+        double ageDays = Duration.between(dataHora, settings.end()).toMinutes() / 1440.0;
+        var when = dataHora;
+
+        if (random.nextDouble() < 0.95) {
+            when = cap(when.plusMinutes(5 + random.nextInt(600)));
+            history.add(new Followup("Aberto", when, pick(random, TEXTO_ABERTO)));
+        }
+        if (random.nextDouble() < Math.min(0.85, 0.2 + ageDays / 30)) {
+            int updates = 1 + random.nextInt(3);
+            for (int i = 0; i < updates; i++) {
+                when = cap(when.plusHours(2 + random.nextInt(240)));
+                history.add(new Followup("Em Andamento", when, pick(random, TEXTO_ANDAMENTO)));
+            }
+            if (random.nextDouble() < Math.min(0.75, ageDays / 60)) {
+                when = cap(when.plusDays(1 + random.nextInt(30)));
+                history.add(new Followup("Concluido", when, pick(random, TEXTO_CONCLUIDO)));
+            }
+        }
+    }
+
+    private LocalDateTime cap(LocalDateTime when) {
+        return when.isAfter(settings.end()) ? settings.end() : when;
+    }
+
+    private static String description(SplittableRandom random) {
+        var text = new StringBuilder(160).append(pick(random, PROBLEMAS)).append(' ').append(pick(random, LOCAIS));
+        var detalhe = pick(random, DETALHES);
+        if (!detalhe.isEmpty()) {
+            text.append(' ').append(detalhe);
+        }
+        text.append('.');
+        var consequencia = pick(random, CONSEQUENCIAS);
+        if (!consequencia.isEmpty()) {
+            text.append(' ').append(consequencia);
+        }
+        if (random.nextInt(5) == 0) {
+            text.append(" Referência: próximo ao número ").append(1 + random.nextInt(3000)).append('.');
+        }
+        return text.toString();
+    }
+
+    private static String email(String nome, long id) {
+        var ascii = ACENTOS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return ascii.toLowerCase(Locale.ROOT).replace(' ', '.') + id + "@ecodenuncia.test";
+    }
+
+    private static String unique(Set<String> used, String nome) {
+        var candidate = nome;
+        for (int i = 2; !used.add(candidate); i++) {
+            candidate = nome + " " + i;
+        }
+        return candidate;
+    }
+
+    // Seis casas decimais (~10 cm) bastam e deixam o CSV enxuto
+    private static double coordinate(double degrees) {
+        return Math.round(degrees * 1e6) / 1e6;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
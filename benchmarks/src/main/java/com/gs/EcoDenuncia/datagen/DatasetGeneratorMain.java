@@ -0,0 +1,59 @@
+package com.gs.EcoDenuncia.datagen;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Gera a base sintética fora da aplicação, em CSV ou direto num banco cujo esquema já exista.
+//
+// java -cp target/benchmarks.jar com.gs.EcoDenuncia.datagen.DatasetGeneratorMain --scale=10 --csv=target/dataset
+// java -cp target/benchmarks.jar com.gs.EcoDenuncia.datagen.DatasetGeneratorMain --scale=10 \
+//      --jdbc-url=jdbc:oracle:thin:@//host:1521/ORCL --jdbc-user=... --jdbc-password=...
+// Opções: --scale (padrão 1), --seed (padrão 42), --batch-size (padrão 5000), --admin-email, --password
+public class DatasetGeneratorMain {
+
+    public static void main(String[] args) throws Exception {
+        var options = parse(args);
+        double scale = Double.parseDouble(options.getOrDefault("scale", "1"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "5000"));
+
+        // Todos os usuários compartilham o mesmo hash: BCrypt por linha tornaria a geração milhares de vezes mais lenta
+        var hash = new BCryptPasswordEncoder().encode(options.getOrDefault("password", "12345"));
+        var generator = new DatasetGenerator(DatasetGenerator.Settings.of(seed, scale,
+                options.getOrDefault("admin-email", "admin@loadtest.com"), hash));
+
+        long start = System.nanoTime();
+        DatasetGenerator.Summary summary;
+        if (options.containsKey("csv")) {
+            try (var sink = new CsvDatasetSink(Path.of(options.get("csv")))) {
+                summary = generator.generate(sink);
+            }
+        } else if (options.containsKey("jdbc-url")) {
+            try (var connection = DriverManager.getConnection(options.get("jdbc-url"),
+                    options.getOrDefault("jdbc-user", ""), options.getOrDefault("jdbc-password", ""));
+                 var sink = new JdbcDatasetSink(connection, batchSize)) {
+                summary = generator.generate(sink);
+            }
+        } else {
+            throw new IllegalArgumentException("Informe --csv=<diretório> ou --jdbc-url=<url>");
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s%n%d linhas em %.1fs (%.0f linhas/s)%n", summary, summary.rows(), seconds, summary.rows() / seconds);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --opcao=valor)");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
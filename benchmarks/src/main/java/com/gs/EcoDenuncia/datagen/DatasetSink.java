@@ -0,0 +1,30 @@
+package com.gs.EcoDenuncia.datagen;
+
+import java.time.LocalDateTime;
+
+// Destino das linhas geradas. A ordem das chamadas respeita as FKs: geografia, órgãos e usuários primeiro,
+// depois cada denúncia seguida do seu histórico de acompanhamentos.
+public interface DatasetSink extends AutoCloseable {
+
+    void state(long id, String nome, String uf) throws Exception;
+
+    void city(long id, String nome, long estadoId) throws Exception;
+
+    void neighborhood(long id, String nome, long cidadeId) throws Exception;
+
+    void location(long id, String logradouro, String numero, String complemento, String cep,
+                  double latitude, double longitude, long bairroId) throws Exception;
+
+    void organization(long id, String nome, String areaAtuacao) throws Exception;
+
+    void user(long id, String nome, String email, String senha, String role) throws Exception;
+
+    // statusAtual é o nome de ComplaintStatus; dataUltimaAtualizacao é nula sem acompanhamentos
+    void complaint(long id, long usuarioId, long localizacaoId, LocalDateTime dataHora, String descricao, long orgaoId,
+                   String statusAtual, LocalDateTime dataUltimaAtualizacao) throws Exception;
+
+    void followup(long id, String status, LocalDateTime dataAtualizacao, String descricao, long denunciaId) throws Exception;
+
+    @Override
+    void close() throws Exception;
+}
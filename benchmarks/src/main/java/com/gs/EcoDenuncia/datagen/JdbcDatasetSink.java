@@ -0,0 +1,178 @@
+package com.gs.EcoDenuncia.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Grava direto nas tabelas da aplicação com PreparedStatement em lote, sem passar pelo Hibernate.
+// O esquema já precisa existir (criado pela aplicação com ddl-auto ou pelo script do banco).
+public class JdbcDatasetSink implements DatasetSink {
+
+    private final Connection connection;
+    private final boolean autoCommit;
+    private final int batchSize;
+
+    private final Batch states;
+    private final Batch cities;
+    private final Batch neighborhoods;
+    private final Batch locations;
+    private final Batch organizations;
+    private final Batch users;
+    private final Batch complaints;
+    private final Batch followups;
+
+    public JdbcDatasetSink(Connection connection, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.autoCommit = connection.getAutoCommit();
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+
+        states = new Batch("insert into TBL_ESTADO (id_estado, nome, uf) values (?, ?, ?)", null);
+        cities = new Batch("insert into TBL_CIDADE (id_cidade, nome, id_estado) values (?, ?, ?)", states);
+        neighborhoods = new Batch("insert into TBL_BAIRRO (id_bairro, nome, id_cidade) values (?, ?, ?)", cities);
+        locations = new Batch("insert into TBL_LOCALIZACAO (id_localizacao, logradouro, numero, complemento, cep, latitude, longitude, id_bairro) values (?, ?, ?, ?, ?, ?, ?, ?)", neighborhoods);
+        organizations = new Batch("insert into TBL_ORGAOS_PUBLICOS (id_orgao, nome, area_atuacao) values (?, ?, ?)", null);
+        users = new Batch("insert into TBL_USUARIOS (id_usuario, nome, email, senha, role) values (?, ?, ?, ?, ?)", null);
+        complaints = new Batch("insert into TBL_DENUNCIAS (id_denuncia, id_usuario, id_localizacao, data_hora, descricao, id_orgao, status_atual, data_ultima_atualizacao) values (?, ?, ?, ?, ?, ?, ?, ?)", locations);
+        followups = new Batch("insert into TBL_ACOMPANHAMENTO_DENUNCIA (id_acompanhamento, status, data_atualizacao, descricao, id_denuncia) values (?, ?, ?, ?, ?)", complaints);
+    }
+
+    @Override
+    public void state(long id, String nome, String uf) throws SQLException {
+        var ps = states.statement;
+        ps.setLong(1, id);
+        ps.setString(2, nome);
+        ps.setString(3, uf);
+        states.add();
+    }
+
+    @Override
+    public void city(long id, String nome, long estadoId) throws SQLException {
+        var ps = cities.statement;
+        ps.setLong(1, id);
+        ps.setString(2, nome);
+        ps.setLong(3, estadoId);
+        cities.add();
+    }
+
+    @Override
+    public void neighborhood(long id, String nome, long cidadeId) throws SQLException {
+        var ps = neighborhoods.statement;
+        ps.setLong(1, id);
+        ps.setString(2, nome);
+        ps.setLong(3, cidadeId);
+        neighborhoods.add();
+    }
+
+    @Override
+    public void location(long id, String logradouro, String numero, String complemento, String cep,
+                         double latitude, double longitude, long bairroId) throws SQLException {
+        var ps = locations.statement;
+        ps.setLong(1, id);
+        ps.setString(2, logradouro);
+        ps.setString(3, numero);
+        ps.setString(4, complemento);
+        ps.setString(5, cep);
+        ps.setDouble(6, latitude);
+        ps.setDouble(7, longitude);
+        ps.setLong(8, bairroId);
+        locations.add();
+    }
+
+    @Override
+    public void organization(long id, String nome, String areaAtuacao) throws SQLException {
+        var ps = organizations.statement;
+        ps.setLong(1, id);
+        ps.setString(2, nome);
+        ps.setString(3, areaAtuacao);
+        organizations.add();
+    }
+
+    @Override
+    public void user(long id, String nome, String email, String senha, String role) throws SQLException {
+        var ps = users.statement;
+        ps.setLong(1, id);
+        ps.setString(2, nome);
+        ps.setString(3, email);
+        ps.setString(4, senha);
+        ps.setString(5, role);
+        users.add();
+    }
+
+    @Override
+    public void complaint(long id, long usuarioId, long localizacaoId, LocalDateTime dataHora, String descricao, long orgaoId,
+                          String statusAtual, LocalDateTime dataUltimaAtualizacao) throws SQLException {
+        // Denúncias dependem de usuários e órgãos, que não estão na cadeia de "pais" do lote
+        organizations.flush();
+        users.flush();
+
+        var ps = complaints.statement;
+        ps.setLong(1, id);
+        ps.setLong(2, usuarioId);
+        ps.setLong(3, localizacaoId);
+        ps.setTimestamp(4, Timestamp.valueOf(dataHora));
+        ps.setString(5, descricao);
+        ps.setLong(6, orgaoId);
+        ps.setString(7, statusAtual);
+        ps.setTimestamp(8, dataUltimaAtualizacao == null ? null : Timestamp.valueOf(dataUltimaAtualizacao));
+        complaints.add();
+    }
+
+    @Override
+    public void followup(long id, String status, LocalDateTime dataAtualizacao, String descricao, long denunciaId) throws SQLException {
+        var ps = followups.statement;
+        ps.setLong(1, id);
+        ps.setString(2, status);
+        ps.setTimestamp(3, Timestamp.valueOf(dataAtualizacao));
+        ps.setString(4, descricao);
+        ps.setLong(5, denunciaId);
+        followups.add();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            followups.flush();
+            organizations.flush();
+            users.flush();
+            connection.commit();
+        } finally {
+            for (var batch : new Batch[]{states, cities, neighborhoods, locations, organizations, users, complaints, followups}) {
+                batch.statement.close();
+            }
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Um PreparedStatement por tabela; o lote "pai" é executado antes para respeitar as FKs
+    private class Batch {
+        private final PreparedStatement statement;
+        private final Batch parent;
+        private int pending;
+
+        Batch(String sql, Batch parent) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+            this.parent = parent;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+    }
+}
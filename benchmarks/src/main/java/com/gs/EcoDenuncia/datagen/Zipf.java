@@ -0,0 +1,44 @@
+package com.gs.EcoDenuncia.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Sorteio com distribuição de Zipf (poucos itens concentram a maior parte dos sorteios). A CDF é pré-calculada
+// e cada amostra é uma busca binária. Os ranks são embaralhados com a semente para que os itens "quentes"
+// não sejam sempre os primeiros ids.
+final class Zipf {
+
+    private final double[] cdf;
+    private final long[] ids;
+
+    Zipf(int size, double exponent, SplittableRandom random) {
+        cdf = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cdf[rank] /= sum;
+        }
+
+        ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+    }
+
+    long next(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return ids[Math.min(rank, ids.length - 1)];
+    }
+}
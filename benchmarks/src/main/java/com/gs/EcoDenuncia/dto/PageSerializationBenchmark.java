@@ -0,0 +1,77 @@
+package com.gs.EcoDenuncia.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gs.EcoDenuncia.benchmark.Fixtures;
+import com.gs.EcoDenuncia.config.BinaryFormatsConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialização de Page<ComplaintResponseDTO> (GET /complaints) e Page<City> (GET /city) em cada formato aceito pela
+// API, com o ObjectMapper configurado como o do Spring Boot. O tamanho de cada página é impresso no setup;
+// "-prof gc" mostra a alocação por operação. deserializePage lê a página numa árvore, como um cliente genérico.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"complaints", "cities"})
+    private String content;
+
+    private ObjectMapper objectMapper;
+    private Page<?> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "smile" -> BinaryFormatsConfig.smileFactory();
+            case "cbor" -> BinaryFormatsConfig.cborFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        var rows = content.equals("cities") ? Fixtures.cities(pageSize) : Fixtures.complaintResponses(pageSize);
+        page = new PageImpl<>(rows, PageRequest.of(0, pageSize), 10_000);
+        encoded = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s/%s/%d: %d bytes%n", content, format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public JsonNode deserializePage() throws Exception {
+        return objectMapper.readTree(encoded);
+    }
+}
@@ -0,0 +1,333 @@
+package com.gs.EcoDenuncia.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+// Driver de carga em laço fechado: cada usuário virtual envia uma requisição, espera a resposta e já envia a próxima.
+// Mede latência por rota depois do aquecimento e reporta vazão e p50/p99/p999 (no console e em JSON).
+//
+// java -cp target/benchmarks.jar com.gs.EcoDenuncia.loadtest.LoadDriver --users=32 --duration=60 --label=platform
+// Opções: --base-url, --users, --duration, --warmup (segundos), --routes=rota1,rota2, --bulk-size, --label,
+//         --email, --password, --seed
+public class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String[] DESCRICOES = {
+            "Descarte irregular de lixo na calçada", "Entulho abandonado em frente ao terreno",
+            "Bueiro entupido com sacos de lixo", "Sofá velho jogado na esquina"};
+
+    private static final String[] STATUS = {"Aberto", "Em Andamento", "Concluido"};
+
+    record Dataset(long complaints, long locations, long users, long organizations) {}
+
+    record Route(String name, int weight, int items, Function<SplittableRandom, HttpRequest.Builder> request) {}
+
+    record RouteResult(String rota, long requisicoes, long erros, double reqPorSegundo, double itensPorSegundo,
+                       double p50Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    record Report(String label, String baseUrl, int usuarios, long duracaoSegundos, long aquecimentoSegundos,
+                  Dataset dataset, List<RouteResult> rotas) {}
+
+    public static void main(String[] args) throws Exception {
+        var options = parse(args);
+        var baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int users = Integer.parseInt(options.getOrDefault("users", "32"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "60"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "10"));
+        int bulkSize = Integer.parseInt(options.getOrDefault("bulk-size", "100"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        var label = options.getOrDefault("label", "default");
+
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        var token = login(client, baseUrl,
+                options.getOrDefault("email", "admin@loadtest.com"), options.getOrDefault("password", "12345"));
+        var dataset = discover(client, baseUrl, token);
+        var points = samplePoints(client, baseUrl, token, dataset, seed);
+        var routes = select(routes(baseUrl, dataset, points, bulkSize), options.get("routes"));
+
+        System.out.printf("%d usuários virtuais, %ds de aquecimento + %ds de medição, rotas: %s%n",
+                users, warmup, duration, routes.stream().map(Route::name).toList());
+
+        int totalWeight = routes.stream().mapToInt(Route::weight).sum();
+        long measureFrom = System.nanoTime() + warmup * 1_000_000_000L;
+        long end = measureFrom + duration * 1_000_000_000L;
+
+        var recorders = new Recorder[users];
+        var threads = new Thread[users];
+        for (int u = 0; u < users; u++) {
+            var recorder = recorders[u] = new Recorder(routes.size());
+            var random = new SplittableRandom(seed + u);
+            threads[u] = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    int index = pick(routes, totalWeight, random);
+                    var request = routes.get(index).request().apply(random)
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+
+                    long start = System.nanoTime();
+                    boolean error;
+                    try {
+                        error = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+                    } catch (IOException e) {
+                        error = true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    long finished = System.nanoTime();
+
+                    if (start >= measureFrom && finished <= end) {
+                        recorder.record(index, finished - start, error);
+                    }
+                }
+            }, "load-user-" + u);
+            threads[u].start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        var results = new ArrayList<RouteResult>();
+        for (int r = 0; r < routes.size(); r++) {
+            results.add(summarize(routes.get(r), recorders, r, duration));
+        }
+        print(results);
+
+        var report = new Report(label, baseUrl, users, duration, warmup, dataset, results);
+        var file = Files.createDirectories(Path.of("results"))
+                .resolve("load-" + label + "-" + LocalDateTime.now().format(STAMP) + ".json");
+        MAPPER.writeValue(file.toFile(), report);
+        System.out.println("Resultado gravado em " + file);
+    }
+
+    // Rotas e pesos do mix padrão; --routes restringe (ex.: --routes=complaints-page,location-page)
+    static List<Route> routes(String baseUrl, Dataset dataset, List<double[]> points, int bulkSize) {
+        long complaintPages = Math.max(1, Math.min(dataset.complaints() / 20, 500));
+        long locationPages = Math.max(1, Math.min(dataset.locations() / 20, 500));
+
+        var routes = new ArrayList<>(List.of(
+                new Route("complaints-page", 15, 1, r -> get(baseUrl + "/complaints?size=20&page=" + r.nextLong(complaintPages))),
+                new Route("complaints-keyset", 10, 1, r -> get(baseUrl + "/complaints?size=20&sort=dataHora,desc&cursor=")),
+                new Route("complaints-filter", 5, 1, r -> get(baseUrl + "/complaints?size=20&descricao=entulho")),
+                new Route("complaints-status", 5, 1, r -> get(baseUrl + "/complaints?size=20&status=ABERTO&idOrgao=" + (1 + r.nextLong(dataset.organizations())))),
+                new Route("complaints-search", 5, 1, r -> get(baseUrl + "/complaints/search?size=20&q=lixo%20bueiro")),
+                new Route("complaints-by-id", 10, 1, r -> get(baseUrl + "/complaints/" + (1 + r.nextLong(dataset.complaints())))),
+                new Route("complaints-user", 10, 1, r -> get(baseUrl + "/complaints/user/" + (1 + r.nextLong(dataset.users())))),
+                new Route("followup-complaint", 10, 1, r -> get(baseUrl + "/followup/denuncia/" + (1 + r.nextLong(dataset.complaints())))),
+                new Route("location-page", 20, 1, r -> get(baseUrl + "/location?size=20&page=" + r.nextLong(locationPages))),
+                new Route("city-page", 5, 1, r -> get(baseUrl + "/city?size=20")),
+                new Route("complaints-create", 5, 1, r -> post(baseUrl + "/complaints", complaint(r, dataset))),
+                new Route("complaints-bulk", 1, bulkSize, r -> post(baseUrl + "/complaints/bulk", bulk(r, dataset, bulkSize))),
+                new Route("followup-create", 3, 1, r -> post(baseUrl + "/followup", followup(r, dataset))),
+                new Route("dashboard", 10, 1, r -> get(baseUrl + "/admin/dashboard"))
+        ));
+        if (!points.isEmpty()) {
+            routes.add(new Route("complaints-nearby", 10, 1, r -> {
+                var point = points.get(r.nextInt(points.size()));
+                return get(baseUrl + "/complaints/nearby?radius=1000&lat=" + point[0] + "&lon=" + point[1]);
+            }));
+        }
+        return routes;
+    }
+
+    private static List<Route> select(List<Route> routes, String names) {
+        if (names == null || names.isBlank()) {
+            return routes;
+        }
+        var wanted = Arrays.asList(names.split(","));
+        var selected = routes.stream().filter(route -> wanted.contains(route.name())).toList();
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma rota conhecida em --routes=" + names);
+        }
+        return selected;
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static HttpRequest.Builder post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static String complaint(SplittableRandom r, Dataset dataset) {
+        return String.format("{\"idUsuario\":%d,\"idLocalizacao\":%d,\"idOrgao\":%d,\"dataHora\":\"%s\",\"descricao\":\"%s\"}",
+                1 + r.nextLong(dataset.users()), 1 + r.nextLong(dataset.locations()), 1 + r.nextLong(dataset.organizations()),
+                LocalDateTime.now().withNano(0), DESCRICOES[r.nextInt(DESCRICOES.length)]);
+    }
+
+    private static String followup(SplittableRandom r, Dataset dataset) {
+        return String.format("{\"status\":\"%s\",\"descricao\":\"Atualização do teste de carga\",\"denunciaId\":%d}",
+                STATUS[r.nextInt(STATUS.length)], 1 + r.nextLong(dataset.complaints()));
+    }
+
+    private static String bulk(SplittableRandom r, Dataset dataset, int size) {
+        var json = new StringBuilder("{\"denuncias\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i == 0 ? "" : ",").append(complaint(r, dataset));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static int pick(List<Route> routes, int totalWeight, SplittableRandom random) {
+        int target = random.nextInt(totalWeight);
+        for (int i = 0; i < routes.size(); i++) {
+            target -= routes.get(i).weight();
+            if (target < 0) {
+                return i;
+            }
+        }
+        return routes.size() - 1;
+    }
+
+    private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        var body = MAPPER.writeValueAsString(Map.of("email", email, "senha", password));
+        var response = client.send(post(baseUrl + "/login", body).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login falhou (" + response.statusCode() + "): " + response.body());
+        }
+        return MAPPER.readTree(response.body()).get("token").asText();
+    }
+
+    // Os ids semeados são contíguos a partir de 1, então o total de cada listagem dá o intervalo sorteável
+    private static Dataset discover(HttpClient client, String baseUrl, String token) throws Exception {
+        return new Dataset(
+                total(client, baseUrl + "/complaints?size=1", token),
+                total(client, baseUrl + "/location?size=1", token),
+                total(client, baseUrl + "/users?size=1", token),
+                total(client, baseUrl + "/organizations?size=1", token));
+    }
+
+    // Coordenadas de localizações cadastradas, usadas como centro das consultas por proximidade
+    private static List<double[]> samplePoints(HttpClient client, String baseUrl, String token, Dataset dataset, long seed) throws Exception {
+        var random = new SplittableRandom(seed);
+        long pages = Math.max(1, dataset.locations() / 100);
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            var response = client.send(get(baseUrl + "/location?size=100&page=" + random.nextLong(pages))
+                    .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString());
+            for (var location : MAPPER.readTree(response.body()).path("content")) {
+                if (location.hasNonNull("latitude") && location.hasNonNull("longitude")) {
+                    points.add(new double[]{location.get("latitude").asDouble(), location.get("longitude").asDouble()});
+                }
+            }
+        }
+        return points;
+    }
+
+    private static long total(HttpClient client, String url, String token) throws Exception {
+        var response = client.send(get(url).header("Authorization", "Bearer " + token).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode json = MAPPER.readTree(response.body());
+        long total = json.has("totalElements") ? json.get("totalElements").asLong() : json.size();
+        if (response.statusCode() != 200 || total == 0) {
+            throw new IllegalStateException("Sem dados em " + url + " (" + response.statusCode() + ")");
+        }
+        return total;
+    }
+
+    private static RouteResult summarize(Route route, Recorder[] recorders, int index, long seconds) {
+        int count = 0;
+        long errors = 0;
+        for (var recorder : recorders) {
+            count += recorder.sizes[index];
+            errors += recorder.errors[index];
+        }
+
+        var all = new long[count];
+        int offset = 0;
+        for (var recorder : recorders) {
+            System.arraycopy(recorder.latencies[index], 0, all, offset, recorder.sizes[index]);
+            offset += recorder.sizes[index];
+        }
+        Arrays.sort(all);
+
+        double perSecond = (double) count / seconds;
+        return new RouteResult(route.name(), count, errors, round(perSecond), round(perSecond * route.items()),
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                count == 0 ? 0 : round(all[count - 1] / 1e6));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return round(sorted[Math.max(rank, 0)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static void print(List<RouteResult> results) {
+        System.out.printf("%n%-20s %10s %7s %10s %10s %9s %9s %9s %9s%n",
+                "rota", "reqs", "erros", "req/s", "itens/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (var r : results) {
+            System.out.printf("%-20s %10d %7d %10.1f %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.rota(), r.requisicoes(), r.erros(), r.reqPorSegundo(), r.itensPorSegundo(),
+                    r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs());
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --opcao=valor)");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    // Latências de um único usuário virtual, sem sincronização: cada thread grava só no seu
+    private static class Recorder {
+        private final long[][] latencies;
+        private final int[] sizes;
+        private final long[] errors;
+
+        Recorder(int routes) {
+            latencies = new long[routes][1024];
+            sizes = new int[routes];
+            errors = new long[routes];
+        }
+
+        void record(int route, long nanos, boolean error) {
+            if (sizes[route] == latencies[route].length) {
+                latencies[route] = Arrays.copyOf(latencies[route], sizes[route] * 2);
+            }
+            latencies[route][sizes[route]++] = nanos;
+            if (error) {
+                errors[route]++;
+            }
+        }
+    }
+}
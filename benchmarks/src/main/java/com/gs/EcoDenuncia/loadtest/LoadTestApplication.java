@@ -0,0 +1,21 @@
+package com.gs.EcoDenuncia.loadtest;
+
+import com.gs.EcoDenuncia.EcoDenunciaApplication;
+import org.springframework.boot.SpringApplication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Sobe a aplicação real com o perfil loadtest (H2 em modo Oracle + LoadTestSeeder).
+// Para comparar com virtual threads: --spring.profiles.active=loadtest,virtual
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (arguments.stream().noneMatch(arg -> arg.startsWith("--spring.profiles.active="))) {
+            arguments.add("--spring.profiles.active=loadtest");
+        }
+        SpringApplication.run(EcoDenunciaApplication.class, arguments.toArray(String[]::new));
+    }
+}
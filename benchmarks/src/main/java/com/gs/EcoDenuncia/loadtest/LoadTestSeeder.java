@@ -0,0 +1,81 @@
+package com.gs.EcoDenuncia.loadtest;
+
+import com.gs.EcoDenuncia.datagen.DatasetGenerator;
+import com.gs.EcoDenuncia.datagen.JdbcDatasetSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Popula o banco do perfil loadtest com o DatasetGenerator, direto via JDBC em lotes (sem passar pelo Hibernate),
+// e depois reposiciona as sequences acima dos ids gerados para que os POSTs do teste não colidam com os dados semeados
+@Component
+@Profile("loadtest")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class LoadTestSeeder implements ApplicationRunner {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${ecodenuncia.loadtest.seed.random-seed}")
+    private long randomSeed;
+
+    @Value("${ecodenuncia.loadtest.seed.scale}")
+    private double scale;
+
+    @Value("${ecodenuncia.loadtest.seed.batch-size}")
+    private int batchSize;
+
+    @Value("${ecodenuncia.loadtest.admin.email}")
+    private String adminEmail;
+
+    @Value("${ecodenuncia.loadtest.admin.password}")
+    private String adminPassword;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        var generator = new DatasetGenerator(DatasetGenerator.Settings.of(randomSeed, scale, adminEmail,
+                passwordEncoder.encode(adminPassword)));
+
+        DatasetGenerator.Summary summary;
+        try (var connection = dataSource.getConnection();
+             var sink = new JdbcDatasetSink(connection, batchSize)) {
+            summary = generator.generate(sink);
+        }
+
+        restartSequence("SEQ_TBL_ESTADO", summary.states());
+        restartSequence("SEQ_TBL_CIDADE", summary.cities());
+        restartSequence("SEQ_TBL_BAIRRO", summary.neighborhoods());
+        restartSequence("SEQ_TBL_LOCALIZACAO", summary.locations());
+        restartSequence("SEQ_TBL_ORGAOS_PUBLICOS", summary.organizations());
+        restartSequence("SEQ_TBL_USUARIOS", summary.users());
+        restartSequence("SEQ_TBL_DENUNCIAS", summary.complaints());
+        restartSequence("SEQ_ACOMPANHAMENTO", summary.followups());
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Base de teste de carga semeada (escala {}) em {}s, {} linhas/s: {}",
+                scale, Math.round(seconds), Math.round(summary.rows() / seconds), summary);
+    }
+
+    // allocationSize = 50: o próximo bloco do Hibernate tem que começar depois do maior id semeado
+    private void restartSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 51));
+    }
+}
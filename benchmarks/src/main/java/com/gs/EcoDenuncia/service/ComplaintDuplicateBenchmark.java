@@ -0,0 +1,85 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.benchmark.Fixtures;
+import com.gs.EcoDenuncia.model.Complaint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Custo da checagem feita no POST /complaints com 'existing' denúncias já na mesma localização. As descrições são
+// sorteadas de um vocabulário pequeno, então há faixas em comum além da duplicata de verdade.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComplaintDuplicateBenchmark {
+
+    private static final String[] WORDS = {
+            "lixo", "entulho", "descarte", "irregular", "calçada", "esgoto", "vazamento", "terreno", "baldio",
+            "queimada", "árvore", "caída", "poda", "córrego", "poluição", "fumaça", "barulho", "óleo", "praça",
+            "rua", "esquina", "bueiro", "entupido", "animais", "mortos", "pneus", "abandonados", "caçamba"
+    };
+
+    @Param({"10", "1000", "10000"})
+    private int existing;
+
+    private ComplaintDuplicateService service;
+    private Complaint probe;
+
+    @Setup
+    public void setup() {
+        service = new ComplaintDuplicateService();
+        ReflectionTestUtils.setField(service, "similarity", 0.6);
+        ReflectionTestUtils.setField(service, "windowDays", 100_000L);
+
+        var random = new SplittableRandom(42);
+        var location = Fixtures.location(1);
+        for (long id = 1; id <= existing; id++) {
+            var complaint = Fixtures.complaint(id);
+            complaint.setLocalizacao(location);
+            complaint.setDescricao(sentence(random));
+            service.index(complaint);
+        }
+
+        probe = Fixtures.complaint(existing + 1);
+        probe.setLocalizacao(location);
+        probe.setDescricao(Fixtures.complaint(1).getDescricao());
+        var original = Fixtures.complaint(existing / 2);
+        original.setLocalizacao(location);
+        service.index(original);
+    }
+
+    // Reindexa sempre a mesma denúncia, então a localização não cresce entre as chamadas
+    @Benchmark
+    public Optional<ComplaintDuplicateService.Match> index() {
+        return service.index(probe);
+    }
+
+    @Benchmark
+    public int[] signature() {
+        return ComplaintDuplicateService.signature(probe.getDescricao());
+    }
+
+    private static String sentence(SplittableRandom random) {
+        var builder = new StringBuilder();
+        for (int i = 0, words = 6 + random.nextInt(8); i < words; i++) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.benchmark.Fixtures;
+import com.gs.EcoDenuncia.config.AuthFilter;
+import com.gs.EcoDenuncia.model.Token;
+import com.gs.EcoDenuncia.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// cold: cache de tokens desligado, toda chamada decodifica e confere a assinatura HMAC
+// warm: o token já foi verificado uma vez e as chamadas seguintes saem do cache por digest
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    @Param({"cold", "warm"})
+    private String cache;
+
+    private final FilterChain chain = (request, response) -> { };
+
+    private TokenService tokenService;
+    private AuthFilter authFilter;
+    private User user;
+    private String jwt;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "maxCachedTokens", cache.equals("warm") ? 10_000 : 0);
+        ReflectionTestUtils.invokeMethod(tokenService, "buildCache");
+
+        authFilter = new AuthFilter();
+        ReflectionTestUtils.setField(authFilter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(authFilter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(authFilter, "registerMetrics");
+
+        user = Fixtures.user(42);
+        jwt = tokenService.createToken(user).token();
+        tokenService.getUserFromToken(jwt);
+    }
+
+    @Benchmark
+    public Token createToken() {
+        return tokenService.createToken(user);
+    }
+
+    @Benchmark
+    public User getUserFromToken() {
+        return tokenService.getUserFromToken(jwt);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authFilter() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/complaints/user/42");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        var response = new MockHttpServletResponse();
+
+        authFilter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
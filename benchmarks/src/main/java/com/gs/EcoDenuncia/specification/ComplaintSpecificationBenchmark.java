@@ -0,0 +1,86 @@
+package com.gs.EcoDenuncia.specification;
+
+import com.gs.EcoDenuncia.controller.ComplaintController;
+import com.gs.EcoDenuncia.model.Complaint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Monta o predicado de ComplaintSpecification.withFilters e a query JPA resultante (sem executar no banco).
+// O EntityManager vem de um Hibernate real sobre H2 em modo Oracle, com o mesmo mapeamento da aplicação.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComplaintSpecificationBenchmark {
+
+    @Param({"nenhum", "descricao", "todos"})
+    private String filtros;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private ComplaintController.ComplaintFilters filters;
+
+    @Setup
+    public void setup() {
+        var factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:bench;MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", ""));
+        factoryBean.setPackagesToScan("com.gs.EcoDenuncia.model");
+        factoryBean.setPersistenceProviderClass(HibernatePersistenceProvider.class);
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+
+        filters = switch (filtros) {
+            case "descricao" -> new ComplaintController.ComplaintFilters("lixo", null, null, null, null);
+            case "todos" -> new ComplaintController.ComplaintFilters("lixo", "prefeitura", "são paulo", null, null);
+            default -> new ComplaintController.ComplaintFilters(null, null, null, null, null);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Complaint.class);
+        var root = query.from(Complaint.class);
+        return ComplaintSpecification.withFilters(filters).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public TypedQuery<Complaint> buildQuery() {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Complaint.class);
+        var root = query.from(Complaint.class);
+        query.where(ComplaintSpecification.withFilters(filters).toPredicate(root, query, cb));
+        return entityManager.createQuery(query);
+    }
+}
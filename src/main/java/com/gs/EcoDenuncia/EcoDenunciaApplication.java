@@ -5,12 +5,14 @@ import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @OpenAPIDefinition(
 		info = @Info(title = "EcoDenuncia API", version = "v1", description = "API do SaaS EcoDenuncia Gs2025")
 )
 @EnableCaching
+@EnableScheduling
 public class EcoDenunciaApplication {
 
 	public static void main(String[] args) {
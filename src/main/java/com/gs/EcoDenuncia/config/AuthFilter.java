@@ -1,6 +1,10 @@
 package com.gs.EcoDenuncia.config;
 
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.gs.EcoDenuncia.service.TokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +24,20 @@ public class AuthFilter extends OncePerRequestFilter {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter validTokens;
+    private Counter expiredTokens;
+    private Counter invalidTokens;
+
+    @PostConstruct
+    void registerMetrics() {
+        validTokens = outcome("valid");
+        expiredTokens = outcome("expired");
+        invalidTokens = outcome("invalid");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -36,8 +54,10 @@ public class AuthFilter extends OncePerRequestFilter {
                         user, null, user.getAuthorities());
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                validTokens.increment();
 
             } catch (Exception e) {
+                (e instanceof TokenExpiredException ? expiredTokens : invalidTokens).increment();
                 response.setStatus(HttpStatus.FORBIDDEN.value());
                 response.setContentType("application/json");
                 response.getWriter().write("{\"message\": \"Token invalido ou expirado\"}");
@@ -47,4 +67,11 @@ public class AuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private Counter outcome(String outcome) {
+        return Counter.builder("ecodenuncia.auth.jwt")
+                .description("Resultado da verificação do token JWT no AuthFilter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,25 @@
+package com.gs.EcoDenuncia.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CacheRegionProperties.class)
+public class CacheConfig {
+
+    @Bean
+    CacheManager cacheManager(CacheRegionProperties properties) {
+        var cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(CaffeineSpec.parse(properties.getDefaultSpec())).recordStats());
+
+        properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(CaffeineSpec.parse(spec)).recordStats().build()));
+
+        return cacheManager;
+    }
+}
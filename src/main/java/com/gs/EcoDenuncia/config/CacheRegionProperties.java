@@ -0,0 +1,18 @@
+package com.gs.EcoDenuncia.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "ecodenuncia.cache")
+public class CacheRegionProperties {
+
+    // Especificação Caffeine usada por caches sem configuração própria
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+
+    // Especificação Caffeine por região (state, city, neighborhood, location, organizations)
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
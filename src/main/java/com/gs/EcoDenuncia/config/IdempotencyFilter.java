@@ -0,0 +1,218 @@
+package com.gs.EcoDenuncia.config;
+
+import com.gs.EcoDenuncia.controller.ComplaintController;
+import com.gs.EcoDenuncia.model.User;
+import com.gs.EcoDenuncia.service.IdempotencyService;
+import com.gs.EcoDenuncia.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key nos POST de denúncia e acompanhamento. A chave vale por usuário e rota; a repetição devolve a
+// resposta original (header Idempotent-Replayed) sem chegar ao controller. Roda depois do Spring Security.
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Cabeçalhos da resposta original que a repetição devolve iguais
+    public static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.LOCATION, ComplaintController.POSSIBLE_DUPLICATE_HEADER);
+
+    private static final Set<String> PATHS = Set.of("/complaints", "/complaints/bulk", "/followup", "/followup/bulk");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long WAIT_SECONDS = 10;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !PATHS.contains(request.getRequestURI())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        var key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            error(response, HttpStatus.BAD_REQUEST, "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+            return;
+        }
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var cached = new CachedBodyRequest(request);
+        var fingerprint = fingerprint(cached.body);
+        var scope = user.getId() + ":" + request.getRequestURI() + ":" + key;
+
+        while (true) {
+            var claim = idempotencyService.claim(scope);
+            if (claim.owner()) {
+                execute(cached, response, filterChain, scope, claim, fingerprint);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = claim.future().get(WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                error(response, HttpStatus.CONFLICT, "Requisição com a mesma Idempotency-Key ainda em processamento");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+
+            // null: a execução original falhou e liberou a chave; tenta assumir
+            if (stored == null) {
+                continue;
+            }
+            if (!stored.fingerprint().equals(fingerprint)) {
+                error(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key já usada com outro conteúdo");
+                return;
+            }
+            replay(response, stored);
+            return;
+        }
+    }
+
+    // Só respostas 2xx ficam gravadas; erro e recusa (400, 429, 503...) podem ser repetidos com a mesma chave
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String scope, IdempotencyService.Claim claim, String fingerprint) throws ServletException, IOException {
+        var wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (HttpStatus.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+                Map<String, String> headers = new LinkedHashMap<>();
+                for (var name : REPLAYED_HEADERS) {
+                    var value = wrapper.getHeader(name);
+                    if (value != null) {
+                        headers.put(name, value);
+                    }
+                }
+                idempotencyService.complete(scope, claim.future(), new StoredResponse(fingerprint, wrapper.getStatus(),
+                        wrapper.getContentType(), headers, wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyService.release(scope, claim.future());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach(response::setHeader);
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void error(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"message\": \"" + message + "\"}");
+    }
+
+    // A mesma chave com outro corpo é erro do cliente, não repetição
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // O corpo é lido antes do controller para calcular o fingerprint e depois servido de novo
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            var encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : java.nio.charset.Charset.forName(encoding)));
+        }
+    }
+}
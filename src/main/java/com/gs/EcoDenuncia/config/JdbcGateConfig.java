@@ -0,0 +1,37 @@
+package com.gs.EcoDenuncia.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+// Desligado por padrão (ecodenuncia.jdbc.gate.enabled=false), inclusive no perfil virtual
+@Configuration
+@ConditionalOnProperty(name = "ecodenuncia.jdbc.gate.enabled", havingValue = "true")
+public class JdbcGateConfig {
+
+    @Bean
+    static BeanPostProcessor gatedDataSourcePostProcessor(Environment environment) {
+        int permits = environment.getRequiredProperty("ecodenuncia.jdbc.gate.permits", Integer.class);
+        long timeoutMs = environment.getRequiredProperty("ecodenuncia.jdbc.gate.timeout-ms", Long.class);
+        // Com mais permissões que conexões, quem passa pelo limitador ainda esperaria no Hikari: duas filas e dois timeouts
+        var poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class);
+        if (poolSize != null && permits > poolSize) {
+            throw new IllegalStateException("ecodenuncia.jdbc.gate.permits (" + permits
+                    + ") não pode passar de spring.datasource.hikari.maximum-pool-size (" + poolSize + ")");
+        }
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                    return new GatedDataSource(dataSource, permits, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.gs.EcoDenuncia.config;
+
+import com.gs.EcoDenuncia.service.ComplaintIntakeService;
+import com.gs.EcoDenuncia.service.RateLimitService;
+import com.gs.EcoDenuncia.service.TokenService;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+// Métricas próprias da aplicação. Tudo é lido na hora da coleta (gauges e function counters sobre contadores
+// que já existem), então não há custo extra no caminho da requisição.
+@Configuration
+public class MetricsConfig {
+
+    // Acrescenta ao http.server.requests o método do controller que atendeu (ex.: ComplaintController.index)
+    @Bean
+    DefaultServerRequestObservationConvention handlerMethodObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                var handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                var name = handler instanceof HandlerMethod method
+                        ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                        : "none";
+                return super.getLowCardinalityKeyValues(context).and(KeyValue.of("handler", name));
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            FunctionTimer.builder("ecodenuncia.password.hash", passwordEncoder,
+                            encoder -> encoder.stats().hashes(),
+                            encoder -> encoder.stats().mediaMs() * encoder.stats().hashes(), TimeUnit.MILLISECONDS)
+                    .description("Hashes BCrypt executados no pool limitado")
+                    .register(registry);
+            Gauge.builder("ecodenuncia.password.hash.queue", passwordEncoder, encoder -> encoder.stats().fila())
+                    .description("Requisições aguardando na fila do pool de hash")
+                    .register(registry);
+            Gauge.builder("ecodenuncia.password.hash.active", passwordEncoder, encoder -> encoder.stats().emExecucao())
+                    .register(registry);
+            FunctionCounter.builder("ecodenuncia.password.hash.rejected", passwordEncoder, encoder -> encoder.stats().rejeitados())
+                    .description("Requisições recusadas com 429 por fila cheia")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder tokenCacheMetrics(TokenService tokenService) {
+        return registry -> {
+            Gauge.builder("ecodenuncia.auth.token.cache.size", tokenService, TokenService::cachedTokens)
+                    .register(registry);
+            FunctionCounter.builder("ecodenuncia.auth.token.cache", tokenService, TokenService::cacheHits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("ecodenuncia.auth.token.cache", tokenService, TokenService::cacheMisses)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder complaintIntakeMetrics(ComplaintIntakeService intakeService) {
+        return registry -> {
+            if (intakeService.isEnabled()) {
+                Gauge.builder("ecodenuncia.complaints.intake.queue", intakeService, service -> service.stats().fila())
+                        .description("Denúncias aguardando o writer")
+                        .register(registry);
+                FunctionCounter.builder("ecodenuncia.complaints.intake", intakeService, service -> service.stats().gravadas())
+                        .tag("result", "written")
+                        .register(registry);
+                FunctionCounter.builder("ecodenuncia.complaints.intake", intakeService, service -> service.stats().rejeitadas())
+                        .tag("result", "rejected")
+                        .register(registry);
+                FunctionCounter.builder("ecodenuncia.complaints.intake", intakeService, service -> service.stats().recusadas())
+                        .tag("result", "refused")
+                        .description("Envios recusados com 429/503")
+                        .register(registry);
+                FunctionTimer.builder("ecodenuncia.complaints.intake.batch", intakeService,
+                                service -> service.stats().lotes(),
+                                service -> service.stats().mediaLoteMs() * service.stats().lotes(), TimeUnit.MILLISECONDS)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder rateLimitMetrics(RateLimitService rateLimitService) {
+        return registry -> {
+            if (rateLimitService.isEnabled()) {
+                Gauge.builder("ecodenuncia.rate.limit.keys", rateLimitService, service -> service.stats().chaves())
+                        .description("Usuários e IPs com balde em memória")
+                        .register(registry);
+                FunctionCounter.builder("ecodenuncia.rate.limit", rateLimitService, service -> service.stats().aceitas())
+                        .tag("result", "allowed")
+                        .register(registry);
+                FunctionCounter.builder("ecodenuncia.rate.limit", rateLimitService, service -> service.stats().rejeitadas())
+                        .tag("result", "rejected")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder jdbcGateMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof GatedDataSource gated) {
+                Gauge.builder("ecodenuncia.jdbc.gate.in.use", gated, g -> g.stats().emUso()).register(registry);
+                Gauge.builder("ecodenuncia.jdbc.gate.waiting", gated, g -> g.stats().aguardando()).register(registry);
+                FunctionCounter.builder("ecodenuncia.jdbc.gate.timeouts", gated, g -> g.stats().timeouts()).register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.gs.EcoDenuncia.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Escuta o evento JFR jdk.VirtualThreadPinned (Java 21+) e conta onde as virtual threads ficaram presas ao carrier:
+// quadro do topo da pilha (driver, synchronized, etc.) e o primeiro quadro do nosso código que levou até ele
+@Component
+@ConditionalOnProperty(name = "ecodenuncia.virtual-threads.pinning-monitor.enabled", havingValue = "true")
+@Slf4j
+public class PinnedThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.gs.EcoDenuncia.";
+
+    @Value("${ecodenuncia.virtual-threads.pinning-monitor.threshold-ms}")
+    private long thresholdMs;
+
+    private final Map<String, LongAdder> pins = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("Java {}: virtual threads e o evento {} só existem a partir do Java 21; "
+                    + "spring.threads.virtual.enabled é ignorado e a aplicação segue em threads de plataforma",
+                    Runtime.version().feature(), PINNED_EVENT);
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withStackTrace().withThreshold(Duration.ofMillis(thresholdMs));
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (limite {}ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    public Map<String, Long> pins() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        pins.forEach((path, count) -> snapshot.put(path, count.sum()));
+        return snapshot;
+    }
+
+    private void record(RecordedEvent event) {
+        var path = callPath(event);
+        pins.computeIfAbsent(path, k -> new LongAdder()).increment();
+        log.warn("Virtual thread presa ao carrier por {}ms: {}", event.getDuration().toMillis(), path);
+    }
+
+    private static String callPath(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "desconhecido";
+        }
+
+        var frames = stackTrace.getFrames();
+        var top = describe(frames.get(0));
+        for (var frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return top + " <- " + describe(frame);
+            }
+        }
+        return top;
+    }
+
+    private static String describe(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+}
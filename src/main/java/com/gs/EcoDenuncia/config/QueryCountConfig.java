@@ -0,0 +1,42 @@
+package com.gs.EcoDenuncia.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Liga o QueryCounter ao Hibernate: todo SQL preparado passa pelo StatementInspector e toda entidade
+// hidratada dispara POST_LOAD. Só é ativado fora de produção (ver application-dev.properties).
+@Configuration
+@ConditionalOnProperty(name = "ecodenuncia.query-count.enabled", havingValue = "true")
+public class QueryCountConfig {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Bean
+    static HibernatePropertiesCustomizer queryCountStatementInspector() {
+        StatementInspector inspector = sql -> {
+            QueryCounter.statement(sql);
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @PostConstruct
+    void registerLoadListener() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> QueryCounter.entityLoaded());
+    }
+}
@@ -0,0 +1,75 @@
+package com.gs.EcoDenuncia.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Abre uma contagem por requisição, devolve o total nos headers e avisa quando a mesma consulta se repete
+// além do limite (sintoma típico de N+1 nos toResponseDTO)
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "ecodenuncia.query-count.enabled", havingValue = "true")
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String ENTITY_LOAD_COUNT_HEADER = "X-Entity-Load-Count";
+
+    @Value("${ecodenuncia.query-count.repeat-threshold}")
+    private int repeatThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean owner = QueryCounter.start();
+
+        // Os headers precisam entrar antes do primeiro byte do corpo; o que rodar depois disso só aparece no log
+        var wrapped = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                writeHeaders(response);
+            }
+        };
+
+        try {
+            filterChain.doFilter(request, wrapped);
+            if (!response.isCommitted()) {
+                writeHeaders(response);
+            }
+        } finally {
+            if (owner) {
+                report(request, QueryCounter.stop());
+            }
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response) {
+        var snapshot = QueryCounter.current();
+        response.setHeader(QUERY_COUNT_HEADER, String.valueOf(snapshot.statements()));
+        response.setHeader(ENTITY_LOAD_COUNT_HEADER, String.valueOf(snapshot.entityLoads()));
+    }
+
+    private void report(HttpServletRequest request, QueryCounter.Snapshot snapshot) {
+        var repeated = snapshot.repeatedOver(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            var details = new StringBuilder();
+            repeated.forEach((sql, count) -> details.append("\n  ").append(count).append("x ").append(sql));
+            log.warn("Possível N+1 em {} {}: {} consultas, {} entidades carregadas, consultas repetidas:{}",
+                    request.getMethod(), request.getRequestURI(), snapshot.statements(), snapshot.entityLoads(), details);
+        } else {
+            log.debug("{} {}: {} consultas, {} entidades carregadas",
+                    request.getMethod(), request.getRequestURI(), snapshot.statements(), snapshot.entityLoads());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.gs.EcoDenuncia.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Contagem de statements JDBC e entidades carregadas por thread, entre start() e stop().
+// Fora desse intervalo as chamadas de registro não fazem nada.
+public final class QueryCounter {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public record Snapshot(int statements, int entityLoads, Map<String, Integer> statementsByShape) {
+
+        public Map<String, Integer> repeatedOver(int threshold) {
+            var repeated = new LinkedHashMap<String, Integer>();
+            statementsByShape.forEach((sql, count) -> {
+                if (count > threshold) {
+                    repeated.put(sql, count);
+                }
+            });
+            return repeated;
+        }
+    }
+
+    private static final class Counts {
+        private int statements;
+        private int entityLoads;
+        private final Map<String, Integer> byShape = new HashMap<>();
+    }
+
+    private QueryCounter() {
+    }
+
+    // Retorna false se já havia uma contagem aberta nesta thread; nesse caso ela continua e quem abriu é quem fecha
+    public static boolean start() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Counts());
+        return true;
+    }
+
+    public static Snapshot stop() {
+        var snapshot = current();
+        CURRENT.remove();
+        return snapshot;
+    }
+
+    public static Snapshot current() {
+        var counts = CURRENT.get();
+        if (counts == null) {
+            return new Snapshot(0, 0, Map.of());
+        }
+        return new Snapshot(counts.statements, counts.entityLoads, Map.copyOf(counts.byShape));
+    }
+
+    static void statement(String sql) {
+        var counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+            counts.byShape.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    static void entityLoaded() {
+        var counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    // Mesma consulta com listas IN de tamanhos diferentes conta como o mesmo formato
+    private static String shape(String sql) {
+        var compact = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(compact).replaceAll("in (?)");
+    }
+}
@@ -0,0 +1,34 @@
+package com.gs.EcoDenuncia.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "ecodenuncia.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Chaves (usuário ou IP) guardadas por rota; as menos usadas saem primeiro quando passa disso
+    private long maxKeys = 1_000_000;
+
+    // Limite por rota (complaints, login, users...)
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+
+        private String method = "POST";
+
+        private String path;
+
+        // Rajada máxima aceita de uma vez
+        private int capacity;
+
+        // Reposição contínua, em requisições por minuto
+        private double perMinute;
+    }
+}
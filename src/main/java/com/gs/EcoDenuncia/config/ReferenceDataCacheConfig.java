@@ -0,0 +1,108 @@
+package com.gs.EcoDenuncia.config;
+
+import com.gs.EcoDenuncia.config.ReferenceDataVersions.Table;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET condicional (ETag/Last-Modified) nas listagens de referência. Um If-None-Match igual à versão atual
+// responde 304 antes do controller, sem cache nem banco.
+@Configuration
+public class ReferenceDataCacheConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ReferenceDataVersions versions;
+
+    @Value("${ecodenuncia.reference-data.max-age-seconds}")
+    private long maxAgeSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        var cacheControl = (maxAgeSeconds > 0
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).mustRevalidate()
+                : CacheControl.noCache()).cachePublic().getHeaderValue();
+
+        registry.addInterceptor(new Conditional(versions, cacheControl, List.of(Table.STATE)))
+                .addPathPatterns("/state", "/state/**");
+        registry.addInterceptor(new Conditional(versions, cacheControl, List.of(Table.STATE, Table.CITY)))
+                .addPathPatterns("/city", "/city/**");
+        registry.addInterceptor(new Conditional(versions, cacheControl, List.of(Table.STATE, Table.CITY, Table.NEIGHBORHOOD)))
+                .addPathPatterns("/neighborhood", "/neighborhood/**");
+        registry.addInterceptor(new Conditional(versions, cacheControl, List.of(Table.ORGANIZATION)))
+                .addPathPatterns("/organizations", "/organizations/**");
+        registry.addInterceptor(new VersionBump(versions));
+    }
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private record Conditional(ReferenceDataVersions versions, String cacheControl, List<Table> tables) implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (!HttpMethod.GET.matches(request.getMethod())) {
+                return true;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            // Define ETag/Last-Modified na resposta e, se o cliente já tem essa versão, marca 304
+            return !new ServletWebRequest(request, response).checkNotModified(
+                    versions.etag(tables, format(request.getHeader(HttpHeaders.ACCEPT))), versions.lastModified(tables));
+        }
+
+        // Mesmo critério da negociação do Spring: o tipo preferido do Accept; */* e o que não for binário saem em JSON
+        private static String format(String accept) {
+            if (accept == null || !(accept.contains("cbor") || accept.contains("smile"))) {
+                return "json";
+            }
+            try {
+                var types = MediaType.parseMediaTypes(accept);
+                MimeTypeUtils.sortBySpecificity(types);
+                for (var type : types) {
+                    if (CBOR.equalsTypeAndSubtype(type)) {
+                        return "cbor";
+                    }
+                    if (SMILE.equalsTypeAndSubtype(type)) {
+                        return "smile";
+                    }
+                    if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                        return "json";
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // O próprio Spring responde 400 antes de usar o ETag
+            }
+            return "json";
+        }
+    }
+
+    private record VersionBump(ReferenceDataVersions versions) implements HandlerInterceptor {
+
+        // Sobe mesmo se a requisição falhou: uma importação pode ter gravado parte dos lotes
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+            if (handler instanceof HandlerMethod method) {
+                var change = method.getMethodAnnotation(ReferenceDataChange.class);
+                if (change != null) {
+                    versions.bump(change.value());
+                }
+            }
+        }
+    }
+}
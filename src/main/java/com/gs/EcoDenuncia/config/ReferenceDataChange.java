@@ -0,0 +1,14 @@
+package com.gs.EcoDenuncia.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Endpoint de escrita que altera tabelas de referência: a versão delas sobe quando a requisição termina,
+// depois do @CacheEvict, para um ETag novo nunca acompanhar uma resposta ainda em cache
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReferenceDataChange {
+    ReferenceDataVersions.Table[] value();
+}
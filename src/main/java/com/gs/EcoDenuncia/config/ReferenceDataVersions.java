@@ -0,0 +1,55 @@
+package com.gs.EcoDenuncia.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Versão em memória de cada tabela de referência, usada como ETag das listagens. Começa em zero a cada subida
+// e o ETag leva o instante da subida, então um ETag de antes de um restart nunca bate.
+@Component
+public class ReferenceDataVersions {
+
+    public enum Table { STATE, CITY, NEIGHBORHOOD, ORGANIZATION }
+
+    private final String boot = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+    private final AtomicLongArray modifiedAt = new AtomicLongArray(Table.values().length);
+
+    public ReferenceDataVersions() {
+        long now = System.currentTimeMillis();
+        for (var table : Table.values()) {
+            modifiedAt.set(table.ordinal(), now);
+        }
+    }
+
+    public void bump(Table... tables) {
+        long now = System.currentTimeMillis();
+        for (var table : tables) {
+            versions.incrementAndGet(table.ordinal());
+            modifiedAt.accumulateAndGet(table.ordinal(), now, Math::max);
+        }
+    }
+
+    public long version(Table table) {
+        return versions.get(table.ordinal());
+    }
+
+    // Forte: a resposta depende só das tabelas listadas (ex.: cidades trazem o nome do estado) e do formato
+    // negociado, já que JSON, CBOR e Smile são representações diferentes
+    public String etag(List<Table> tables, String format) {
+        var etag = new StringBuilder("\"").append(boot);
+        for (var table : tables) {
+            etag.append('-').append(versions.get(table.ordinal()));
+        }
+        return etag.append('-').append(format).append('"').toString();
+    }
+
+    public long lastModified(List<Table> tables) {
+        long lastModified = 0;
+        for (var table : tables) {
+            lastModified = Math.max(lastModified, modifiedAt.get(table.ordinal()));
+        }
+        return lastModified;
+    }
+}
@@ -1,13 +1,12 @@
 package com.gs.EcoDenuncia.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -38,6 +37,8 @@ public class SecurityConfig {
                         .requestMatchers("/city/**").hasRole("ADMIN")
 
                         .requestMatchers(HttpMethod.GET, "/complaints/user/**").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/complaints/nearby").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/complaints/intake/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/complaints/**").hasRole("ADMIN")
                         .requestMatchers("/complaints/**").authenticated()
 
@@ -57,14 +58,21 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.GET, "/organizations/**").permitAll()
                         .requestMatchers("/organizations/**").hasRole("ADMIN")
+
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
+
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                 )
                 .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    BoundedPasswordEncoder passwordEncoder(@Value("${ecodenuncia.security.bcrypt-strength}") int strength,
+                                           @Value("${ecodenuncia.security.hashing.threads}") int threads,
+                                           @Value("${ecodenuncia.security.hashing.queue-capacity}") int queueCapacity) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity);
     }
 
     @Bean
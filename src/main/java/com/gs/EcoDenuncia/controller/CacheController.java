@@ -0,0 +1,40 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public record CacheStats(String nome, long tamanho, long hits, long misses, double hitRate, long evictions) {}
+
+    @GetMapping
+    @Operation(summary = "Estatísticas de cache", description = "Retorna hits, misses e tamanho de cada região de cache (Apenas ADMIN)")
+    public ResponseEntity<List<CacheStats>> stats() {
+        List<CacheStats> stats = new ArrayList<>();
+
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                var s = nativeCache.stats();
+                stats.add(new CacheStats(name, nativeCache.estimatedSize(), s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount()));
+            }
+        }
+
+        return ResponseEntity.ok(stats);
+    }
+}
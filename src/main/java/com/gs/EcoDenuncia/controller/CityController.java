@@ -1,5 +1,7 @@
 package com.gs.EcoDenuncia.controller;
 
+import com.gs.EcoDenuncia.config.ReferenceDataChange;
+import com.gs.EcoDenuncia.config.ReferenceDataVersions.Table;
 import com.gs.EcoDenuncia.dto.City.CityRequestDTO;
 import com.gs.EcoDenuncia.dto.City.CityResponseDTO;
 import com.gs.EcoDenuncia.model.City;
@@ -15,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -44,7 +47,8 @@ public class CityController {
 
     @PostMapping
     @Operation(summary = "Criar cidade", description = "Cadastra uma nova cidade no sistema (Apenas ADMIN)")
-    @CacheEvict(value = "city", allEntries = true)
+    @CacheEvict(value = {"city", "neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.CITY)
     public ResponseEntity<?> criar(
             @RequestBody @Valid CityRequestDTO dto,
             @AuthenticationPrincipal User userAuth
@@ -69,7 +73,7 @@ public class CityController {
 
     @GetMapping
     @Operation(summary = "Listar cidades", description = "Retorna uma lista paginada de cidades cadastradas")
-    @CacheEvict("city")
+    @Cacheable(value = "city", key = "{#nome, #estado, #pageable}")
     public Page<City> index(
             @RequestParam(required = false) String nome,
             @RequestParam(required = false) String estado,
@@ -82,6 +86,7 @@ public class CityController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar cidade por ID", description = "Retorna os dados de uma cidade específica pelo ID")
+    @Cacheable(value = "city", key = "#id", unless = "#result.statusCode.isError()")
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         Optional<City> cidadeOpt = repository.findById(id);
 
@@ -94,7 +99,8 @@ public class CityController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar cidade", description = "Atualiza os dados de uma cidade existente (Apenas ADMIN)")
-    @CacheEvict(value = "city", allEntries = true)
+    @CacheEvict(value = {"city", "neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.CITY)
     public ResponseEntity<?> atualizar(
             @PathVariable Long id,
             @RequestBody @Valid CityRequestDTO dto,
@@ -124,7 +130,8 @@ public class CityController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletar cidade", description = "Remove uma cidade do sistema (Apenas ADMIN)")
-    @CacheEvict(value = "city", allEntries = true)
+    @CacheEvict(value = {"city", "neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.CITY)
     public ResponseEntity<?> deletar(
             @PathVariable Long id,
             @AuthenticationPrincipal User userAuth
@@ -1,32 +1,57 @@
 package com.gs.EcoDenuncia.controller;
 
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintBulkRequestDTO;
 import com.gs.EcoDenuncia.dto.Complaint.ComplaintRequestDTO;
 import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
+import com.gs.EcoDenuncia.dto.Complaint.NearbyComplaintDTO;
+import com.gs.EcoDenuncia.dto.Complaint.NearbyComplaintsDTO;
+import com.gs.EcoDenuncia.dto.KeysetPageDTO;
 import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.PublicOrganization;
 import com.gs.EcoDenuncia.model.RoleType;
 import com.gs.EcoDenuncia.model.User;
 import com.gs.EcoDenuncia.repository.ComplaintRepository;
 import com.gs.EcoDenuncia.repository.LocationRepository;
 import com.gs.EcoDenuncia.repository.PublicOrganizationRepository;
 import com.gs.EcoDenuncia.repository.UserRepository;
+import com.gs.EcoDenuncia.service.ComplaintDuplicateService;
+import com.gs.EcoDenuncia.service.ComplaintGeoService;
+import com.gs.EcoDenuncia.service.ComplaintHeatmapService;
+import com.gs.EcoDenuncia.service.ComplaintIntakeService;
+import com.gs.EcoDenuncia.service.ComplaintSearchService;
+import com.gs.EcoDenuncia.service.DashboardCounterService;
 import com.gs.EcoDenuncia.specification.ComplaintSpecification;
+import com.gs.EcoDenuncia.specification.KeysetSpecification;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Pageable;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -47,7 +72,36 @@ public class ComplaintController {
     @Autowired
     private PublicOrganizationRepository publicOrganizationRepository;
 
-    public record ComplaintFilters(String descricao, String orgaoNome, String localizacaoCidade) {}
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+
+    @Autowired
+    private ComplaintGeoService complaintGeoService;
+
+    @Autowired
+    private ComplaintHeatmapService complaintHeatmapService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private ComplaintIntakeService complaintIntakeService;
+
+    @Autowired
+    private ComplaintDuplicateService complaintDuplicateService;
+
+    @Value("${ecodenuncia.geo.max-radius-m}")
+    private double maxNearbyRadius;
+
+    @Value("${ecodenuncia.geo.max-results}")
+    private int maxNearbyResults;
+
+    // Denúncia parecida já registrada na mesma localização; a nova é gravada do mesmo jeito
+    public static final String POSSIBLE_DUPLICATE_HEADER = "X-Possible-Duplicate-Of";
+
+    public record ComplaintFilters(String descricao, String orgaoNome, String localizacaoCidade, Long idOrgao, ComplaintStatus status) {}
+
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "dataHora");
 
     @PostMapping
     @Operation(summary = "Criar denúncia", description = "Cadastra uma nova denúncia no sistema")
@@ -59,6 +113,17 @@ public class ComplaintController {
         if (!userAuth.getId().equals(dto.getIdUsuario()) && !userAuth.getRole().equals(RoleType.ADMIN)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Você só pode criar denúncias para seu próprio usuário");
         }
+        // Modo assíncrono: as referências são conferidas pelo writer e o resultado sai em GET /complaints/intake/{trackingId}
+        if (complaintIntakeService.isEnabled()) {
+            try {
+                var tracking = complaintIntakeService.submit(dto, userAuth.getId());
+                return ResponseEntity.accepted()
+                        .location(URI.create("/complaints/intake/" + tracking.trackingId()))
+                        .body(tracking);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
         var usuario = userRepository.findById(dto.getIdUsuario())
                 .orElseGet(() -> {
                     log.error("Usuário não encontrado com ID: {}", dto.getIdUsuario());
@@ -91,32 +156,200 @@ public class ComplaintController {
                 .descricao(dto.getDescricao())
                 .build();
         Complaint savedComplaint = complaintRepository.save(denuncia);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponseDTO(savedComplaint));
+        complaintSearchService.index(savedComplaint);
+        complaintGeoService.index(savedComplaint);
+        complaintHeatmapService.add(savedComplaint);
+        dashboardCounterService.add(savedComplaint);
+        var duplicate = complaintDuplicateService.index(savedComplaint);
+
+        var response = ResponseEntity.status(HttpStatus.CREATED);
+        duplicate.ifPresent(match -> response.header(POSSIBLE_DUPLICATE_HEADER, String.valueOf(match.complaintId())));
+        return response.body(toResponseDTO(savedComplaint));
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Criar denúncias em lote", description = "Cadastra várias denúncias numa única transação com inserts em lote (até 1000 por requisição)")
+    @CacheEvict(value = "complaints", allEntries = true)
+    public ResponseEntity<?> createComplaints(
+            @RequestBody @Valid ComplaintBulkRequestDTO dto,
+            @AuthenticationPrincipal User userAuth) {
+
+        var itens = dto.getDenuncias();
+        if (itens == null || itens.isEmpty() || itens.size() > ComplaintBulkRequestDTO.MAX_ITENS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Informe entre 1 e " + ComplaintBulkRequestDTO.MAX_ITENS + " denúncias");
+        }
+
+        boolean admin = userAuth.getRole().equals(RoleType.ADMIN);
+        if (!admin && itens.stream().anyMatch(item -> !userAuth.getId().equals(item.getIdUsuario()))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Você só pode criar denúncias para seu próprio usuário");
+        }
+
+        // Resolve todas as referências com uma consulta por tabela em vez de três findById por denúncia
+        Map<Long, User> usuarios = byId(userRepository.findAllById(distinct(itens, ComplaintRequestDTO::getIdUsuario)), User::getId);
+        Map<Long, Location> localizacoes = byId(locationRepository.findAllById(distinct(itens, ComplaintRequestDTO::getIdLocalizacao)), Location::getId);
+        Map<Long, PublicOrganization> orgaos = byId(publicOrganizationRepository.findAllById(distinct(itens, ComplaintRequestDTO::getIdOrgao)), PublicOrganization::getId);
+
+        List<Complaint> denuncias = new ArrayList<>(itens.size());
+        for (var item : itens) {
+            var usuario = usuarios.get(item.getIdUsuario());
+            if (usuario == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Usuário não encontrado: " + item.getIdUsuario());
+            }
+            var localizacao = localizacoes.get(item.getIdLocalizacao());
+            if (localizacao == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Localização não encontrada: " + item.getIdLocalizacao());
+            }
+            var orgao = orgaos.get(item.getIdOrgao());
+            if (orgao == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Órgão não encontrado: " + item.getIdOrgao());
+            }
+            denuncias.add(Complaint.builder()
+                    .usuario(usuario)
+                    .localizacao(localizacao)
+                    .orgao(orgao)
+                    .dataHora(item.getDataHora())
+                    .descricao(item.getDescricao())
+                    .build());
+        }
+
+        List<Complaint> saved = complaintRepository.saveAll(denuncias);
+        saved.forEach(complaintSearchService::index);
+        saved.forEach(complaintGeoService::index);
+        saved.forEach(complaintHeatmapService::add);
+        saved.forEach(dashboardCounterService::add);
+        saved.forEach(complaintDuplicateService::index);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved.stream().map(this::toResponseDTO).toList());
     }
 
     @GetMapping
-    @Operation(summary = "Listar denúncias", description = "Retorna uma lista paginada de denúncias (somente ADMIN)")
-    @CacheEvict("complaints")
-    public ResponseEntity<Page<ComplaintResponseDTO>> index(
+    @Operation(summary = "Listar denúncias", description = """
+        Retorna uma lista paginada de denúncias (somente ADMIN).
+        Informe o parâmetro 'cursor' (vazio na primeira página) para paginar por cursor em vez de offset;
+        a resposta traz 'next' para a página seguinte. Ordenações aceitas nesse modo: id, dataHora.
+        """
+    )
+    public ResponseEntity<?> index(
             @AuthenticationPrincipal User userAuth,
             @RequestParam(required = false) String descricao,
             @RequestParam(required = false) String orgaoNome,
             @RequestParam(required = false) String localizacaoCidade,
+            @RequestParam(required = false) Long idOrgao,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) String cursor,
             @ParameterObject @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         if (!userAuth.getRole().equals(RoleType.ADMIN)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        var filters = new ComplaintFilters(descricao, orgaoNome, localizacaoCidade);
+        var filters = new ComplaintFilters(descricao, orgaoNome, localizacaoCidade, idOrgao, status);
         var specification = ComplaintSpecification.withFilters(filters);
 
-        Page<Complaint> complaintsPage = complaintRepository.findAll(specification, pageable);
-        Page<ComplaintResponseDTO> dtoPage = complaintsPage.map(this::toResponseDTO);
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(keysetPage(specification, cursor, pageable));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
+
+        Page<ComplaintResponseDTO> dtoPage = complaintRepository.findResponses(specification, pageable);
 
         return ResponseEntity.ok(dtoPage);
     }
 
+    private KeysetPageDTO<ComplaintResponseDTO> keysetPage(Specification<Complaint> specification, String cursor, Pageable pageable) {
+        var order = KeysetSpecification.resolveOrder(pageable.getSort(), KEYSET_SORT_PROPERTIES);
+
+        if (!cursor.isBlank()) {
+            var position = KeysetSpecification.Cursor.decode(cursor);
+            if (!position.property().equals(order.getProperty()) || position.direction() != order.getDirection()) {
+                throw new IllegalArgumentException("Cursor gerado com outra ordenação");
+            }
+            specification = specification.and(KeysetSpecification.after(position));
+        }
+
+        int size = pageable.getPageSize();
+        var rows = complaintRepository.findResponses(specification, KeysetSpecification.sortFor(order), size + 1);
+
+        return KeysetPageDTO.of(rows, size, last -> KeysetSpecification.Cursor.of(
+                order.getProperty(),
+                order.getDirection(),
+                order.getProperty().equals("dataHora") ? last.getDataHora() : last.getId(),
+                last.getId()).encode());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar denúncias por texto", description = "Busca na descrição das denúncias, ordenando por relevância e ignorando acentos (somente ADMIN)")
+    public ResponseEntity<Page<ComplaintResponseDTO>> search(
+            @AuthenticationPrincipal User userAuth,
+            @RequestParam String q,
+            @ParameterObject @PageableDefault(size = 10) Pageable pageable
+    ) {
+        if (!userAuth.getRole().equals(RoleType.ADMIN)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        var result = complaintSearchService.search(q, pageable);
+        if (result.ids().isEmpty()) {
+            return ResponseEntity.ok(new PageImpl<>(List.of(), pageable, result.totalHits()));
+        }
+
+        // Recupera as denúncias numa única consulta e mantém a ordem de relevância do índice
+        var ranking = result.ids();
+        var content = complaintRepository.findResponses(ComplaintSpecification.withIds(ranking), Sort.unsorted(), ranking.size())
+                .stream()
+                .sorted(Comparator.comparingInt(dto -> ranking.indexOf(dto.getId())))
+                .toList();
+
+        return ResponseEntity.ok(new PageImpl<>(content, pageable, result.totalHits()));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Denúncias próximas", description = """
+        Retorna as denúncias num raio (em metros) a partir de lat/lon, da mais próxima para a mais distante,
+        com filtros opcionais de órgão e período. Só considera localizações com coordenadas cadastradas.
+        """
+    )
+    public ResponseEntity<?> nearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "1000") double radius,
+            @RequestParam(required = false) Long idOrgao,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Coordenadas inválidas");
+        }
+        if (radius <= 0 || radius > maxNearbyRadius) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Raio deve estar entre 0 e " + (long) maxNearbyRadius + " metros");
+        }
+        if (limit < 1 || limit > maxNearbyResults) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Limite deve estar entre 1 e " + maxNearbyResults);
+        }
+
+        var result = complaintGeoService.nearby(lat, lon, radius, idOrgao, desde, ate, limit);
+        if (result.hits().isEmpty()) {
+            return ResponseEntity.ok(new NearbyComplaintsDTO(result.total(), List.of()));
+        }
+
+        // Detalhes numa única consulta; a ordem (por distância) vem do índice
+        var ids = result.hits().stream().map(ComplaintGeoService.Hit::complaintId).toList();
+        var responses = complaintRepository.findResponses(ComplaintSpecification.withIds(ids), Sort.unsorted(), ids.size())
+                .stream()
+                .collect(Collectors.toMap(ComplaintResponseDTO::getId, Function.identity()));
+
+        var denuncias = result.hits().stream()
+                .filter(hit -> responses.containsKey(hit.complaintId()))
+                .map(hit -> toNearbyDTO(responses.get(hit.complaintId()), hit))
+                .toList();
+
+        return ResponseEntity.ok(new NearbyComplaintsDTO(result.total(), denuncias));
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Listar denúncias do usuário", description = "Retorna as denúncias de um usuário específico (ADMIN ou o próprio usuário)")
     public ResponseEntity<?> listUserComplaints(
@@ -127,14 +360,25 @@ public class ComplaintController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Você só pode visualizar suas próprias denúncias");
         }
 
-        List<ComplaintResponseDTO> dtos = complaintRepository.findByUsuarioId(userId)
-                .stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        List<ComplaintResponseDTO> dtos = complaintRepository.findResponsesByUsuarioId(userId);
 
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping("/intake/{trackingId}")
+    @Operation(summary = "Consultar recebimento", description = "Situação de uma denúncia enviada no modo assíncrono: PENDENTE, GRAVADA (com idDenuncia) ou REJEITADA (com a mensagem)")
+    public ResponseEntity<?> intakeStatus(
+            @PathVariable String trackingId,
+            @AuthenticationPrincipal User userAuth) {
+
+        var tracking = complaintIntakeService.tracking(trackingId)
+                .filter(found -> found.idUsuario().equals(userAuth.getId()) || userAuth.getRole().equals(RoleType.ADMIN));
+        if (tracking.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Rastreio não encontrado");
+        }
+        return ResponseEntity.ok(tracking.get());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar denúncia por ID", description = "Busca uma denúncia específica (ADMIN ou dono da denúncia)")
     public ResponseEntity<?> getComplaintById(
@@ -184,6 +428,9 @@ public class ComplaintController {
                 .orElseThrow(() -> new RuntimeException("Localização não encontrada"));
         var orgao = publicOrganizationRepository.findById(dto.getIdOrgao())
                 .orElseThrow(() -> new RuntimeException("Órgão não encontrado"));
+        var previousLocationId = complaint.getLocalizacao().getId();
+        var previousHeat = complaintHeatmapService.contributionOf(complaint);
+        var previousDashboard = dashboardCounterService.contributionOf(complaint);
 
         complaint.setUsuario(usuario);
         complaint.setLocalizacao(localizacao);
@@ -192,6 +439,11 @@ public class ComplaintController {
         complaint.setDescricao(dto.getDescricao());
 
         Complaint updatedComplaint = complaintRepository.save(complaint);
+        complaintSearchService.index(updatedComplaint);
+        complaintGeoService.index(updatedComplaint, previousLocationId);
+        complaintHeatmapService.replace(previousHeat, updatedComplaint);
+        dashboardCounterService.replace(previousDashboard, updatedComplaint);
+        complaintDuplicateService.index(updatedComplaint, previousLocationId);
 
         return ResponseEntity.ok(toResponseDTO(updatedComplaint));
     }
@@ -216,11 +468,43 @@ public class ComplaintController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado.");
         }
 
+        var previousDashboard = dashboardCounterService.contributionOf(complaint);
         complaintRepository.delete(complaint);
+        complaintSearchService.delete(complaint.getId());
+        complaintGeoService.delete(complaint.getId(), complaint.getLocalizacao().getId());
+        complaintHeatmapService.remove(complaint.getId(), complaintHeatmapService.contributionOf(complaint));
+        dashboardCounterService.remove(complaint.getId(), previousDashboard, complaint.getStatusAtual());
+        complaintDuplicateService.delete(complaint.getId(), complaint.getLocalizacao().getId());
         return ResponseEntity.noContent().build();
     }
 
-    private ComplaintResponseDTO toResponseDTO(Complaint complaint) {
+    private static <T> Set<Long> distinct(List<T> itens, Function<T, Long> id) {
+        return itens.stream().map(id).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    // Sem o nome do autor: a consulta por proximidade é aberta a qualquer usuário autenticado
+    private static NearbyComplaintDTO toNearbyDTO(ComplaintResponseDTO complaint, ComplaintGeoService.Hit hit) {
+        return NearbyComplaintDTO.builder()
+                .id(complaint.getId())
+                .descricao(complaint.getDescricao())
+                .dataHora(complaint.getDataHora())
+                .nomeOrgao(complaint.getNomeOrgao())
+                .logradouro(complaint.getLogradouro())
+                .numero(complaint.getNumero())
+                .bairro(complaint.getBairro())
+                .cidade(complaint.getCidade())
+                .estado(complaint.getEstado())
+                .latitude(hit.latitude())
+                .longitude(hit.longitude())
+                .distanciaMetros(Math.round(hit.distanceMeters()))
+                .build();
+    }
+
+    ComplaintResponseDTO toResponseDTO(Complaint complaint) {
         return ComplaintResponseDTO.builder()
                 .id(complaint.getId())
                 .nomeUsuario(complaint.getUsuario().getNome())
@@ -232,6 +516,8 @@ public class ComplaintController {
                 .bairro(complaint.getLocalizacao().getBairro().getNome())
                 .cidade(complaint.getLocalizacao().getBairro().getCidade().getNome())
                 .estado(complaint.getLocalizacao().getBairro().getCidade().getEstado().getNome())
+                .statusAtual(complaint.getStatusAtual())
+                .dataUltimaAtualizacao(complaint.getDataUltimaAtualizacao())
                 .build();
     }
 }
@@ -0,0 +1,69 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.service.ComplaintHeatmapService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/complaints/heatmap")
+public class ComplaintHeatmapController {
+
+    @Autowired
+    private ComplaintHeatmapService complaintHeatmapService;
+
+    @Autowired
+    private NeighborhoodRepository neighborhoodRepository;
+
+    public record NeighborhoodHeat(Long idBairro, String bairro, long total) {}
+
+    @GetMapping
+    @Operation(summary = "Mapa de calor por célula", description = """
+        Quantidade de denúncias por célula da grade, a partir de contadores mantidos em memória (somente ADMIN).
+        'zoom' vai de 0 (células grandes) até o máximo configurado (células de ~1 km); cada nível abaixo dobra o lado.
+        Filtros opcionais: período (desde/ate, datas ISO) e retângulo (minLat, maxLat, minLon, maxLon).
+        """)
+    public ResponseEntity<?> cells(
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLon
+    ) {
+        ComplaintHeatmapService.Bounds bounds = null;
+        if (minLat != null || maxLat != null || minLon != null || maxLon != null) {
+            if (minLat == null || maxLat == null || minLon == null || maxLon == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Informe minLat, maxLat, minLon e maxLon juntos");
+            }
+            bounds = new ComplaintHeatmapService.Bounds(minLat, maxLat, minLon, maxLon);
+        }
+
+        return ResponseEntity.ok(complaintHeatmapService.cells(zoom == null ? Integer.MAX_VALUE : zoom, desde, ate, bounds));
+    }
+
+    @GetMapping("/neighborhoods")
+    @Operation(summary = "Mapa de calor por bairro", description = "Quantidade de denúncias em cada bairro da cidade, com período opcional (somente ADMIN)")
+    public ResponseEntity<?> neighborhoods(
+            @RequestParam Long idCidade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate
+    ) {
+        var bairros = neighborhoodRepository.findByCidadeIdOrderByNomeAsc(idCidade).stream()
+                .map(bairro -> new NeighborhoodHeat(bairro.getId(), bairro.getNome(),
+                        complaintHeatmapService.neighborhood(bairro.getId(), desde, ate)))
+                .toList();
+
+        return ResponseEntity.ok(bairros);
+    }
+}
@@ -0,0 +1,36 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.service.DashboardCounterService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @GetMapping
+    @Operation(summary = "Totais do painel", description = """
+        Total de denúncias por órgão, por cidade e por status atual, que é o do último acompanhamento (Apenas ADMIN).
+        Os valores vêm de contadores em memória, atualizados a cada escrita e reconciliados periodicamente com o banco.
+        """)
+    public ResponseEntity<?> stats() {
+        return ResponseEntity.ok(dashboardCounterService.stats());
+    }
+
+    @PostMapping("/reconcile")
+    @Operation(summary = "Reconciliar totais do painel", description = "Recalcula os contadores do painel a partir do banco (Apenas ADMIN)")
+    public ResponseEntity<?> reconcile() {
+        long drift = dashboardCounterService.reconcile();
+        return ResponseEntity.ok(Map.of("corrigidos", drift));
+    }
+}
@@ -0,0 +1,46 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.service.ComplaintDuplicateService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/duplicates")
+public class DuplicateAdminController {
+
+    private static final int MAX_CLUSTERS = 1000;
+
+    @Autowired
+    private ComplaintDuplicateService complaintDuplicateService;
+
+    @GetMapping
+    @Operation(summary = "Possíveis denúncias duplicadas", description = "Grupos de denúncias com descrições parecidas na mesma localização, maiores primeiro (Apenas ADMIN)")
+    public ResponseEntity<?> clusters(@RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_CLUSTERS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Limite deve estar entre 1 e " + MAX_CLUSTERS);
+        }
+        return ResponseEntity.ok(complaintDuplicateService.clusters(limit));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Estado do índice de duplicatas", description = "Localizações e denúncias no índice de similaridade (Apenas ADMIN)")
+    public ComplaintDuplicateService.Stats stats() {
+        return complaintDuplicateService.stats();
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Reconstruir índice de duplicatas", description = "Recarrega do banco as denúncias da janela configurada (Apenas ADMIN)")
+    public ResponseEntity<?> rebuild() {
+        long total = complaintDuplicateService.rebuild();
+        return ResponseEntity.ok(Map.of("indexados", total));
+    }
+}
@@ -0,0 +1,45 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+import com.gs.EcoDenuncia.service.ComplaintExportService;
+import com.gs.EcoDenuncia.specification.ComplaintSpecification;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/admin/export")
+public class ExportController {
+
+    @Autowired
+    private ComplaintExportService complaintExportService;
+
+    @GetMapping("/complaints")
+    @Operation(summary = "Exportar denúncias", description = "Exporta todas as denúncias filtradas em NDJSON ou CSV, em streaming (Apenas ADMIN)")
+    public void exportComplaints(
+            @RequestParam(required = false) String descricao,
+            @RequestParam(required = false) String orgaoNome,
+            @RequestParam(required = false) String localizacaoCidade,
+            @RequestParam(required = false) Long idOrgao,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+
+        var exportFormat = "csv".equalsIgnoreCase(format) ? ComplaintExportService.Format.CSV : ComplaintExportService.Format.NDJSON;
+        var filters = new ComplaintController.ComplaintFilters(descricao, orgaoNome, localizacaoCidade, idOrgao, status);
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(exportFormat == ComplaintExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=denuncias." + (exportFormat == ComplaintExportService.Format.CSV ? "csv" : "ndjson"));
+
+        complaintExportService.export(ComplaintSpecification.withFilters(filters), exportFormat, response.getOutputStream());
+    }
+}
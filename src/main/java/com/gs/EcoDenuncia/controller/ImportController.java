@@ -0,0 +1,48 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.config.ReferenceDataChange;
+import com.gs.EcoDenuncia.config.ReferenceDataVersions.Table;
+import com.gs.EcoDenuncia.service.GeographyImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/admin/import")
+public class ImportController {
+
+    @Autowired
+    private GeographyImportService geographyImportService;
+
+    @PostMapping(value = "/geography", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Importar geografia", description = """
+        Importa estados, cidades, bairros e localizações a partir de um arquivo CSV (text/csv, com cabeçalho)
+        ou NDJSON (application/x-ndjson). Colunas: uf, estado, cidade, bairro, logradouro, numero, complemento, cep, latitude, longitude.
+        Linhas inválidas são reportadas sem interromper o arquivo (Apenas ADMIN).
+        """)
+    @CacheEvict(value = {"state", "city", "neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange({Table.STATE, Table.CITY, Table.NEIGHBORHOOD})
+    public ResponseEntity<?> importGeography(
+            @RequestHeader("Content-Type") String contentType,
+            InputStream body) throws IOException {
+
+        var format = contentType.startsWith("text/csv")
+                ? GeographyImportService.Format.CSV
+                : GeographyImportService.Format.NDJSON;
+
+        try {
+            return ResponseEntity.ok(geographyImportService.importGeography(body, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
@@ -7,6 +7,9 @@ import com.gs.EcoDenuncia.model.RoleType;
 import com.gs.EcoDenuncia.model.User;
 import com.gs.EcoDenuncia.repository.LocationRepository;
 import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.service.ComplaintGeoService;
+import com.gs.EcoDenuncia.service.ComplaintHeatmapService;
+import com.gs.EcoDenuncia.service.DashboardCounterService;
 import com.gs.EcoDenuncia.specification.LocationSpecification;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -15,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -37,6 +41,15 @@ public class LocationController {
     @Autowired
     private NeighborhoodRepository neighborhoodRepository;
 
+    @Autowired
+    private ComplaintGeoService complaintGeoService;
+
+    @Autowired
+    private ComplaintHeatmapService complaintHeatmapService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
     public record LocationFilters(String logradouro, String cep, String bairro) {}
 
 
@@ -51,6 +64,11 @@ public class LocationController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Somente administradores podem criar localizações");
         }
 
+        var coordenadas = validarCoordenadas(dto);
+        if (coordenadas != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(coordenadas);
+        }
+
         var bairro = neighborhoodRepository.findById(dto.getIdBairro())
                 .orElseThrow(() -> new RuntimeException("Bairro não encontrado"));
 
@@ -59,17 +77,20 @@ public class LocationController {
                 .numero(dto.getNumero())
                 .complemento(dto.getComplemento())
                 .cep(dto.getCep())
+                .latitude(dto.getLatitude())
+                .longitude(dto.getLongitude())
                 .bairro(bairro)
                 .build();
 
         repository.save(localizacao);
+        complaintGeoService.updateLocation(localizacao);
 
         return ResponseEntity.ok(toResponseDTO(localizacao));
     }
 
     @GetMapping
     @Operation(summary = "Listar localizações", description = "Retorna uma lista com todas as localizações cadastradas")
-    @CacheEvict("location")
+    @Cacheable(value = "location", key = "{#logradouro, #cep, #bairro, #pageable}")
     public Page<LocationResponseDTO> listar(
             @RequestParam(required = false) String logradouro,
             @RequestParam(required = false) String cep,
@@ -78,12 +99,12 @@ public class LocationController {
     ) {
         var filters = new LocationFilters(logradouro, cep, bairro);
         var specification = LocationSpecification.withFilters(filters);
-        return repository.findAll(specification, pageable)
-                .map(this::toResponseDTO);
+        return repository.findResponses(specification, pageable);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar localização por ID", description = "Retorna os dados de uma localização específica pelo ID")
+    @Cacheable(value = "location", key = "#id")
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         var localizacao = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Localização não encontrada"));
@@ -103,19 +124,32 @@ public class LocationController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Somente administradores podem atualizar localizações");
         }
 
+        var coordenadas = validarCoordenadas(dto);
+        if (coordenadas != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(coordenadas);
+        }
+
         var localizacao = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Localização não encontrada"));
 
         var bairro = neighborhoodRepository.findById(dto.getIdBairro())
                 .orElseThrow(() -> new RuntimeException("Bairro não encontrado"));
 
+        var previousPlace = complaintHeatmapService.placeOf(localizacao);
+        var previousCity = localizacao.getBairro().getCidade().getId();
+
         localizacao.setLogradouro(dto.getLogradouro());
         localizacao.setNumero(dto.getNumero());
         localizacao.setComplemento(dto.getComplemento());
         localizacao.setCep(dto.getCep());
+        localizacao.setLatitude(dto.getLatitude());
+        localizacao.setLongitude(dto.getLongitude());
         localizacao.setBairro(bairro);
 
         repository.save(localizacao);
+        complaintGeoService.updateLocation(localizacao);
+        complaintHeatmapService.relocate(id, previousPlace, complaintHeatmapService.placeOf(localizacao));
+        dashboardCounterService.relocate(id, previousCity, bairro.getCidade().getId());
 
         return ResponseEntity.ok(toResponseDTO(localizacao));
     }
@@ -135,17 +169,36 @@ public class LocationController {
                 .orElseThrow(() -> new RuntimeException("Localização não encontrada"));
 
         repository.delete(localizacao);
+        complaintGeoService.deleteLocation(id);
 
         return ResponseEntity.noContent().build();
     }
 
-    private LocationResponseDTO toResponseDTO(Location l) {
+    // Não há provedor de Bean Validation no projeto: as faixas são conferidas aqui, como no /complaints/nearby
+    private static String validarCoordenadas(LocationRequestDTO dto) {
+        var latitude = dto.getLatitude();
+        var longitude = dto.getLongitude();
+        if ((latitude == null) != (longitude == null)) {
+            return "Latitude e longitude devem ser informadas juntas";
+        }
+        if (latitude != null && (latitude < -90 || latitude > 90)) {
+            return "Latitude deve estar entre -90 e 90";
+        }
+        if (longitude != null && (longitude < -180 || longitude > 180)) {
+            return "Longitude deve estar entre -180 e 180";
+        }
+        return null;
+    }
+
+    LocationResponseDTO toResponseDTO(Location l) {
         return LocationResponseDTO.builder()
                 .id(l.getId())
                 .logradouro(l.getLogradouro())
                 .numero(l.getNumero())
                 .complemento(l.getComplemento())
                 .cep(l.getCep())
+                .latitude(l.getLatitude())
+                .longitude(l.getLongitude())
                 .bairro(l.getBairro().getNome())
                 .cidade(l.getBairro().getCidade().getNome())
                 .estado(l.getBairro().getCidade().getEstado().getNome())
@@ -1,5 +1,7 @@
 package com.gs.EcoDenuncia.controller;
 
+import com.gs.EcoDenuncia.config.ReferenceDataChange;
+import com.gs.EcoDenuncia.config.ReferenceDataVersions.Table;
 import com.gs.EcoDenuncia.dto.Neighborhood.NeighborhoodRequestDTO;
 import com.gs.EcoDenuncia.dto.Neighborhood.NeighborhoodResponseDTO;
 import com.gs.EcoDenuncia.model.Neighborhood;
@@ -7,6 +9,7 @@ import com.gs.EcoDenuncia.model.RoleType;
 import com.gs.EcoDenuncia.model.User;
 import com.gs.EcoDenuncia.repository.CityRepository;
 import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.service.DashboardCounterService;
 import com.gs.EcoDenuncia.specification.NeighborhoodSpecification;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -15,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -36,11 +40,15 @@ public class NeighborhoodController {
     @Autowired
     private CityRepository cityRepository;
 
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
     public record NeighborhoodFilters(String nome, String cidade) {}
 
     @PostMapping
     @Operation(summary = "Criar bairro", description = "Cadastra um novo bairro no sistema (Apenas ADMIN)")
-    @CacheEvict(value = "neighborhood", allEntries = true)
+    @CacheEvict(value = {"neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.NEIGHBORHOOD)
     public ResponseEntity<?> criar(
             @RequestBody @Valid NeighborhoodRequestDTO dto,
             @AuthenticationPrincipal User userAuth) {
@@ -63,7 +71,7 @@ public class NeighborhoodController {
 
     @GetMapping
     @Operation(summary = "Listar bairros", description = "Retorna todos os bairros cadastrados")
-    @CacheEvict("neighborhood")
+    @Cacheable(value = "neighborhood", key = "{#nome, #cidade, #pageable}")
     public Page<NeighborhoodResponseDTO> listar(
             @RequestParam(required = false) String nome,
             @RequestParam(required = false) String cidade,
@@ -77,6 +85,7 @@ public class NeighborhoodController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar bairro por ID", description = "Retorna os dados de um bairro específico")
+    @Cacheable(value = "neighborhood", key = "#id")
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         var bairro = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Bairro não encontrado"));
@@ -86,7 +95,8 @@ public class NeighborhoodController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar bairro", description = "Atualiza os dados de um bairro existente (Apenas ADMIN)")
-    @CacheEvict(value = "neighborhood", allEntries = true)
+    @CacheEvict(value = {"neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.NEIGHBORHOOD)
     public ResponseEntity<?> atualizar(
             @PathVariable Long id,
             @RequestBody @Valid NeighborhoodRequestDTO dto,
@@ -102,16 +112,19 @@ public class NeighborhoodController {
         var cidade = cityRepository.findById(dto.getIdCidade())
                 .orElseThrow(() -> new RuntimeException("Cidade não encontrada"));
 
+        var previousCity = bairro.getCidade().getId();
         bairro.setNome(dto.getNome());
         bairro.setCidade(cidade);
 
         Neighborhood updatedBairro = repository.save(bairro);
+        dashboardCounterService.moveNeighborhood(id, previousCity, cidade.getId());
         return ResponseEntity.ok(toResponseDTO(updatedBairro));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletar bairro", description = "Remove um bairro do sistema (Apenas ADMIN)")
-    @CacheEvict(value = "neighborhood", allEntries = true)
+    @CacheEvict(value = {"neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.NEIGHBORHOOD)
     public ResponseEntity<?> deletar(
             @PathVariable Long id,
             @AuthenticationPrincipal User userAuth) {
@@ -0,0 +1,23 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.config.BoundedPasswordEncoder;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/password-hashing")
+public class PasswordHashingController {
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @GetMapping
+    @Operation(summary = "Estatísticas de hash de senha", description = "Retorna latência, fila e rejeições do pool de BCrypt (Apenas ADMIN)")
+    public ResponseEntity<BoundedPasswordEncoder.Stats> stats() {
+        return ResponseEntity.ok(passwordEncoder.stats());
+    }
+}
@@ -1,5 +1,7 @@
 package com.gs.EcoDenuncia.controller;
 
+import com.gs.EcoDenuncia.config.ReferenceDataChange;
+import com.gs.EcoDenuncia.config.ReferenceDataVersions.Table;
 import com.gs.EcoDenuncia.dto.PublicOrganization.PublicOrganizationRequestDTO;
 import com.gs.EcoDenuncia.dto.PublicOrganization.PublicOrganizationResponseDTO;
 import com.gs.EcoDenuncia.model.PublicOrganization;
@@ -14,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -37,6 +40,7 @@ public class PublicOrganizationController {
     @PostMapping
     @Operation(summary = "Criar órgão público", description = "Cadastra um novo órgão público (Apenas ADMIN), Areas 'Urbana', 'Ambiental', 'Saude'")
     @CacheEvict(value = "organizations", allEntries = true)
+    @ReferenceDataChange(Table.ORGANIZATION)
     public ResponseEntity<?> criar(
             @RequestBody @Valid PublicOrganizationRequestDTO dto,
             @AuthenticationPrincipal User userAuth) {
@@ -58,7 +62,7 @@ public class PublicOrganizationController {
 
     @GetMapping
     @Operation(summary = "Listar órgãos públicos", description = "Retorna todos os órgãos públicos cadastrados")
-    @CacheEvict("organizations")
+    @Cacheable(value = "organizations", key = "{#nome, #areaAtuacao, #pageable}")
     public Page<PublicOrganizationResponseDTO> listar(
             @RequestParam(required = false) String nome,
             @RequestParam(required = false) String areaAtuacao,
@@ -72,6 +76,7 @@ public class PublicOrganizationController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar órgão por ID", description = "Retorna um órgão público específico pelo ID")
+    @Cacheable(value = "organizations", key = "#id", unless = "#result.statusCode.isError()")
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         return repository.findById(id)
                 .map(orgao -> ResponseEntity.ok(new PublicOrganizationResponseDTO(orgao)))
@@ -81,6 +86,7 @@ public class PublicOrganizationController {
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar órgão", description = "Atualiza os dados de um órgão público (Apenas ADMIN)")
     @CacheEvict(value = "organizations", allEntries = true)
+    @ReferenceDataChange(Table.ORGANIZATION)
     public ResponseEntity<?> atualizar(
             @PathVariable Long id,
             @RequestBody @Valid PublicOrganizationRequestDTO dto,
@@ -104,6 +110,7 @@ public class PublicOrganizationController {
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletar órgão", description = "Remove um órgão público do sistema (Apenas ADMIN)")
     @CacheEvict(value = "organizations", allEntries = true)
+    @ReferenceDataChange(Table.ORGANIZATION)
     public ResponseEntity<?> deletar(
             @PathVariable Long id,
             @AuthenticationPrincipal User userAuth) {
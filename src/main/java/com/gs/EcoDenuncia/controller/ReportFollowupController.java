@@ -1,13 +1,19 @@
 package com.gs.EcoDenuncia.controller;
 
+import com.gs.EcoDenuncia.dto.KeysetPageDTO;
+import com.gs.EcoDenuncia.dto.ReportFollowUp.ReportFollowupBulkRequestDTO;
 import com.gs.EcoDenuncia.dto.ReportFollowUp.ReportFollowupRequestDTO;
 import com.gs.EcoDenuncia.dto.ReportFollowUp.ReportFollowupResponseDTO;
 import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.ComplaintStatus;
 import com.gs.EcoDenuncia.model.ReportFollowup;
 import com.gs.EcoDenuncia.model.RoleType;
 import com.gs.EcoDenuncia.model.User;
 import com.gs.EcoDenuncia.repository.ComplaintRepository;
 import com.gs.EcoDenuncia.repository.ReportFollowupRepository;
+import com.gs.EcoDenuncia.service.ComplaintStatusService;
+import com.gs.EcoDenuncia.service.DashboardCounterService;
+import com.gs.EcoDenuncia.specification.KeysetSpecification;
 import com.gs.EcoDenuncia.specification.ReportFollowUpSpecification;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -18,14 +24,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -40,8 +51,18 @@ public class ReportFollowupController {
     @Autowired
     private ComplaintRepository complaintRepository;
 
+    @Autowired
+    private ComplaintStatusService complaintStatusService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    private static final String INVALID_STATUS = "Status inválido: use Aberto, Em Andamento ou Concluido";
+
     public record ReportFollowupFilters(String status) {}
 
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "dataAtualizacao");
+
     @GetMapping("/denuncia/{denunciaId}")
     @Operation(summary = "Listar acompanhamentos por denúncia",
             description = "Retorna todos os acompanhamentos de uma denúncia (ADMIN ou dono da denúncia)")
@@ -104,6 +125,10 @@ public class ReportFollowupController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Somente administradores podem criar acompanhamentos");
         }
 
+        if (ComplaintStatus.parse(dto.getStatus()).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_STATUS);
+        }
+
         Optional<Complaint> denunciaOpt = complaintRepository.findById(dto.getDenunciaId());
         if (denunciaOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Denúncia não encontrada");
@@ -115,17 +140,71 @@ public class ReportFollowupController {
         acompanhamento.setDataAtualizacao(new Date());
         acompanhamento.setDenuncia(denunciaOpt.get());
 
+        var previousStatuses = ComplaintStatusService.statusesOf(List.of(denunciaOpt.get()));
         ReportFollowup saved = repository.save(acompanhamento);
+        dashboardCounterService.updateStatuses(previousStatuses, complaintStatusService.refresh(previousStatuses.keySet()));
         return ResponseEntity.status(HttpStatus.CREATED).body(new ReportFollowupResponseDTO(saved));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Criar acompanhamentos em lote",
+            description = "Cria vários acompanhamentos numa única transação com inserts em lote (Apenas ADMIN, até 1000 por requisição)")
+    @CacheEvict(value = "followup", allEntries = true)
+    public ResponseEntity<?> createAcompanhamentos(
+            @RequestBody @Valid ReportFollowupBulkRequestDTO dto,
+            @AuthenticationPrincipal User userAuth) {
+
+        if (!userAuth.getRole().equals(RoleType.ADMIN)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Somente administradores podem criar acompanhamentos");
+        }
+
+        var itens = dto.getAcompanhamentos();
+        if (itens == null || itens.isEmpty() || itens.size() > ReportFollowupBulkRequestDTO.MAX_ITENS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Informe entre 1 e " + ReportFollowupBulkRequestDTO.MAX_ITENS + " acompanhamentos");
+        }
+
+        var ids = itens.stream().map(ReportFollowupRequestDTO::getDenunciaId).distinct().toList();
+        Map<Long, Complaint> denuncias = complaintRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+
+        var agora = new Date();
+        List<ReportFollowup> acompanhamentos = new ArrayList<>(itens.size());
+        for (var item : itens) {
+            var denuncia = denuncias.get(item.getDenunciaId());
+            if (denuncia == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Denúncia não encontrada: " + item.getDenunciaId());
+            }
+            if (ComplaintStatus.parse(item.getStatus()).isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_STATUS + " (" + item.getStatus() + ")");
+            }
+
+            ReportFollowup acompanhamento = new ReportFollowup();
+            acompanhamento.setStatus(item.getStatus());
+            acompanhamento.setDescricao(item.getDescricao());
+            acompanhamento.setDataAtualizacao(agora);
+            acompanhamento.setDenuncia(denuncia);
+            acompanhamentos.add(acompanhamento);
+        }
+
+        var previousStatuses = ComplaintStatusService.statusesOf(denuncias.values());
+        var saved = repository.saveAll(acompanhamentos).stream()
+                .map(ReportFollowupResponseDTO::new)
+                .toList();
+        dashboardCounterService.updateStatuses(previousStatuses, complaintStatusService.refresh(previousStatuses.keySet()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
     @GetMapping
     @Operation(summary = "Listar todos os acompanhamentos",
-            description = "Lista todos os acompanhamentos do sistema (Apenas ADMIN)")
-    @CacheEvict("followup")
+            description = """
+                Lista todos os acompanhamentos do sistema (Apenas ADMIN).
+                Informe o parâmetro 'cursor' (vazio na primeira página) para paginar por cursor em vez de offset;
+                a resposta traz 'next' para a página seguinte. Ordenações aceitas nesse modo: id, dataAtualizacao.
+                """)
     public ResponseEntity<?> listAll(
             @AuthenticationPrincipal User userAuth,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
             @ParameterObject @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         if (!userAuth.getRole().equals(RoleType.ADMIN)) {
@@ -135,10 +214,38 @@ public class ReportFollowupController {
 
         var filters = new ReportFollowupFilters(status);
         var specification = ReportFollowUpSpecification.withFilters(filters);
-        var page = repository.findAll(specification, pageable)
-                .map(ReportFollowupResponseDTO::new);
 
-        return ResponseEntity.ok(page);
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(keysetPage(specification, cursor, pageable));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
+
+        return ResponseEntity.ok(repository.findResponses(specification, pageable));
+    }
+
+    private KeysetPageDTO<ReportFollowupResponseDTO> keysetPage(Specification<ReportFollowup> specification, String cursor, Pageable pageable) {
+        var order = KeysetSpecification.resolveOrder(pageable.getSort(), KEYSET_SORT_PROPERTIES);
+
+        if (!cursor.isBlank()) {
+            var position = KeysetSpecification.Cursor.decode(cursor);
+            if (!position.property().equals(order.getProperty()) || position.direction() != order.getDirection()) {
+                throw new IllegalArgumentException("Cursor gerado com outra ordenação");
+            }
+            specification = specification.and(KeysetSpecification.after(position));
+        }
+
+        int size = pageable.getPageSize();
+        var sort = KeysetSpecification.sortFor(order);
+        var rows = repository.findResponses(specification, sort, size + 1);
+
+        return KeysetPageDTO.of(rows, size, last -> KeysetSpecification.Cursor.of(
+                order.getProperty(),
+                order.getDirection(),
+                order.getProperty().equals("dataAtualizacao") ? last.getDataAtualizacao() : last.getId(),
+                last.getId()).encode());
     }
 
     @PutMapping("/{id}")
@@ -154,12 +261,17 @@ public class ReportFollowupController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Somente administradores podem atualizar acompanhamentos");
         }
 
+        if (ComplaintStatus.parse(dto.getStatus()).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_STATUS);
+        }
+
         Optional<ReportFollowup> opt = repository.findById(id);
         if (opt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Acompanhamento não encontrado");
         }
 
         ReportFollowup acompanhamento = opt.get();
+        var previousDenuncia = acompanhamento.getDenuncia();
         acompanhamento.setStatus(dto.getStatus());
         acompanhamento.setDescricao(dto.getDescricao());
         acompanhamento.setDataAtualizacao(new Date());
@@ -170,7 +282,10 @@ public class ReportFollowupController {
         }
         acompanhamento.setDenuncia(denunciaOpt.get());
 
+        // A denúncia antiga e a nova podem mudar de status
+        var previousStatuses = ComplaintStatusService.statusesOf(List.of(previousDenuncia, denunciaOpt.get()));
         ReportFollowup updated = repository.save(acompanhamento);
+        dashboardCounterService.updateStatuses(previousStatuses, complaintStatusService.refresh(previousStatuses.keySet()));
         return ResponseEntity.ok(new ReportFollowupResponseDTO(updated));
     }
 
@@ -186,11 +301,14 @@ public class ReportFollowupController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado: Somente administradores podem remover acompanhamentos");
         }
 
-        if (!repository.existsById(id)) {
+        Optional<ReportFollowup> opt = repository.findById(id);
+        if (opt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Acompanhamento não encontrado");
         }
 
-        repository.deleteById(id);
+        var previousStatuses = ComplaintStatusService.statusesOf(List.of(opt.get().getDenuncia()));
+        repository.delete(opt.get());
+        dashboardCounterService.updateStatuses(previousStatuses, complaintStatusService.refresh(previousStatuses.keySet()));
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,44 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.service.ComplaintGeoService;
+import com.gs.EcoDenuncia.service.ComplaintSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/search")
+public class SearchAdminController {
+
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+
+    @Autowired
+    private ComplaintGeoService complaintGeoService;
+
+    @PostMapping("/complaints/rebuild")
+    @Operation(summary = "Reconstruir índice de denúncias", description = "Recria o índice de texto das denúncias a partir do banco (Apenas ADMIN)")
+    public ResponseEntity<?> rebuild() {
+        long total = complaintSearchService.rebuild();
+        return ResponseEntity.ok(Map.of("indexados", total));
+    }
+
+    @GetMapping("/geo")
+    @Operation(summary = "Estado do índice geográfico", description = "Localizações, células e denúncias no índice de proximidade (Apenas ADMIN)")
+    public ComplaintGeoService.Stats geoStats() {
+        return complaintGeoService.stats();
+    }
+
+    @PostMapping("/geo/rebuild")
+    @Operation(summary = "Reconstruir índice geográfico", description = "Recarrega coordenadas e denúncias do banco no índice de proximidade (Apenas ADMIN)")
+    public ResponseEntity<?> rebuildGeo() {
+        long total = complaintGeoService.rebuild();
+        return ResponseEntity.ok(Map.of("indexados", total));
+    }
+}
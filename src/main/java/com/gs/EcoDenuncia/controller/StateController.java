@@ -1,5 +1,7 @@
 package com.gs.EcoDenuncia.controller;
 
+import com.gs.EcoDenuncia.config.ReferenceDataChange;
+import com.gs.EcoDenuncia.config.ReferenceDataVersions.Table;
 import com.gs.EcoDenuncia.dto.State.StateRequestDTO;
 import com.gs.EcoDenuncia.dto.State.StateResponseDTO;
 import com.gs.EcoDenuncia.model.RoleType;
@@ -14,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -36,7 +39,8 @@ public class StateController {
 
     @PostMapping
     @Operation(summary = "Criar estado", description = "Cadastra um novo estado no sistema (Apenas ADMIN)")
-    @CacheEvict(value = "state", allEntries = true)
+    @CacheEvict(value = {"state", "city", "neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.STATE)
     public ResponseEntity<?> criar(
             @RequestBody @Valid StateRequestDTO dto,
             @AuthenticationPrincipal User userAuth) {
@@ -56,7 +60,7 @@ public class StateController {
 
     @GetMapping
     @Operation(summary = "Listar estados", description = "Retorna uma lista com todos os estados cadastrados")
-    @CacheEvict("state")
+    @Cacheable(value = "state", key = "{#nome, #uf, #pageable}")
     public ResponseEntity<Page<StateResponseDTO>> listar(
             @RequestParam(required = false) String nome,
             @RequestParam(required = false) String uf,
@@ -74,6 +78,7 @@ public class StateController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar estado por ID", description = "Retorna os dados de um estado específico pelo ID")
+    @Cacheable(value = "state", key = "#id")
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         var estado = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Estado não encontrado"));
@@ -82,7 +87,8 @@ public class StateController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar estado", description = "Atualiza os dados de um estado existente (Apenas ADMIN)")
-    @CacheEvict(value = "state", allEntries = true)
+    @CacheEvict(value = {"state", "city", "neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.STATE)
     public ResponseEntity<?> atualizar(
             @PathVariable Long id,
             @RequestBody @Valid StateRequestDTO dto,
@@ -104,7 +110,8 @@ public class StateController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletar estado", description = "Remove um estado do sistema (Apenas ADMIN)")
-    @CacheEvict(value = "state", allEntries = true)
+    @CacheEvict(value = {"state", "city", "neighborhood", "location"}, allEntries = true)
+    @ReferenceDataChange(Table.STATE)
     public ResponseEntity<?> deletar(
             @PathVariable Long id,
             @AuthenticationPrincipal User userAuth) {
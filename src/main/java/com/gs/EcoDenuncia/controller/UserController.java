@@ -58,7 +58,6 @@ public class UserController {
 
     @GetMapping
     @Operation(summary = "Listar usuários cadastrados", description = "Retorna todos os usuários cadastrados (Apenas ADMIN)")
-    @CacheEvict("users")
     public ResponseEntity<?> listarUsuarios(
             @RequestParam(required = false) String nome,
             @RequestParam(required = false) String email,
@@ -0,0 +1,49 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.config.GatedDataSource;
+import com.gs.EcoDenuncia.config.PinnedThreadMonitor;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/virtual-threads")
+public class VirtualThreadController {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    public record VirtualThreadStats(boolean virtualThreads, boolean threadAtualVirtual,
+                                     GatedDataSource.Stats jdbcGate, Map<String, Long> pinning) {}
+
+    @GetMapping
+    @Operation(summary = "Estado das virtual threads", description = "Retorna o modo de execução, o uso do limitador de conexões JDBC e os pontos de pinning observados (Apenas ADMIN)")
+    public ResponseEntity<VirtualThreadStats> stats() {
+        var gate = dataSource instanceof GatedDataSource gated ? gated.stats() : null;
+        var pinning = pinnedThreadMonitor != null ? pinnedThreadMonitor.pins() : null;
+
+        return ResponseEntity.ok(new VirtualThreadStats(virtualThreads, isVirtual(Thread.currentThread()), gate, pinning));
+    }
+
+    // Thread.isVirtual() só existe a partir do Java 21; o projeto ainda compila com 17
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
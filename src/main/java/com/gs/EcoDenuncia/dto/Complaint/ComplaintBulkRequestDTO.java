@@ -0,0 +1,22 @@
+package com.gs.EcoDenuncia.dto.Complaint;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintBulkRequestDTO {
+
+    public static final int MAX_ITENS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_ITENS)
+    private List<@Valid ComplaintRequestDTO> denuncias;
+}
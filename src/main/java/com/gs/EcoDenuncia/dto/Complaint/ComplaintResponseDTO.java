@@ -1,5 +1,6 @@
 package com.gs.EcoDenuncia.dto.Complaint;
 
+import com.gs.EcoDenuncia.model.ComplaintStatus;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -20,4 +21,6 @@ public class ComplaintResponseDTO {
     private String bairro;
     private String cidade;
     private String estado;
+    private ComplaintStatus statusAtual;
+    private LocalDateTime dataUltimaAtualizacao;
 }
@@ -0,0 +1,25 @@
+package com.gs.EcoDenuncia.dto.Complaint;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyComplaintDTO {
+
+    private Long id;
+    private String descricao;
+    private LocalDateTime dataHora;
+    private String nomeOrgao;
+    private String logradouro;
+    private String numero;
+    private String bairro;
+    private String cidade;
+    private String estado;
+    private Double latitude;
+    private Double longitude;
+    private long distanciaMetros;
+}
@@ -0,0 +1,16 @@
+package com.gs.EcoDenuncia.dto.Complaint;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyComplaintsDTO {
+
+    // Total dentro do raio com os filtros aplicados; 'denuncias' traz só as mais próximas até o limite
+    private long total;
+    private List<NearbyComplaintDTO> denuncias;
+}
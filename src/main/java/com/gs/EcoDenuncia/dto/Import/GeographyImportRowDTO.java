@@ -0,0 +1,23 @@
+package com.gs.EcoDenuncia.dto.Import;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeographyImportRowDTO {
+    private String uf;
+    private String estado;
+    private String cidade;
+    private String bairro;
+    private String logradouro;
+    private String numero;
+    private String complemento;
+    private String cep;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,26 @@
+package com.gs.EcoDenuncia.dto.Import;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResultDTO {
+
+    public static final int MAX_ERROS = 1000;
+
+    public record RowError(long linha, String mensagem) {}
+
+    private long lidas;
+    private long importadas;
+    private long falhas;
+    private List<RowError> erros = new ArrayList<>();
+
+    public void addError(long linha, String mensagem) {
+        falhas++;
+        if (erros.size() < MAX_ERROS) {
+            erros.add(new RowError(linha, mensagem));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.gs.EcoDenuncia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String next;
+
+    // rows deve vir com size + 1 linhas no máximo; a linha extra só indica que há próxima página
+    public static <T> KeysetPageDTO<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new KeysetPageDTO<>(rows, size, null);
+        }
+        var content = rows.subList(0, size);
+        return new KeysetPageDTO<>(content, size, cursorOf.apply(content.get(size - 1)));
+    }
+}
@@ -23,6 +23,10 @@ public class LocationRequestDTO {
     @NotBlank
     private String cep;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @NotNull
     private Long idBairro;
 }
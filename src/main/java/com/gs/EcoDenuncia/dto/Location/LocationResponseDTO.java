@@ -15,6 +15,8 @@ public class LocationResponseDTO {
     private String numero;
     private String complemento;
     private String cep;
+    private Double latitude;
+    private Double longitude;
     private String bairro;
     private String cidade;
     private String estado;
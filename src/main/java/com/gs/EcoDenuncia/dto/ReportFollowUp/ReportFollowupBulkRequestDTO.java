@@ -0,0 +1,18 @@
+package com.gs.EcoDenuncia.dto.ReportFollowUp;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReportFollowupBulkRequestDTO {
+
+    public static final int MAX_ITENS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_ITENS)
+    private List<@Valid ReportFollowupRequestDTO> acompanhamentos;
+}
@@ -20,4 +20,13 @@ public class ReportFollowupResponseDTO {
         this.dataAtualizacao = acompanhamento.getDataAtualizacao();
         this.denunciaId = acompanhamento.getDenuncia().getId();
     }
+
+    // Usado pela projeção do ReportFollowupRepositoryCustomImpl
+    public ReportFollowupResponseDTO(Long id, String status, String descricao, Date dataAtualizacao, Long denunciaId) {
+        this.id = id;
+        this.status = status;
+        this.descricao = descricao;
+        this.dataAtualizacao = dataAtualizacao;
+        this.denunciaId = denunciaId;
+    }
 }
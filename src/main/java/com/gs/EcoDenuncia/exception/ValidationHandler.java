@@ -6,6 +6,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import java.util.List;
 
 @RestControllerAdvice
@@ -26,4 +27,11 @@ public class ValidationHandler {
                 .map(ValidationError::new)
                 .toList();
     }
+
+    // Parâmetro de query com valor que não converte (ex.: status fora do enum); sem isso vira 403 no /error
+    @ExceptionHandler(exception = MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public List<ValidationError> handler(MethodArgumentTypeMismatchException e){
+        return List.of(new ValidationError(e.getName(), "Valor inválido: " + e.getValue()));
+    }
 }
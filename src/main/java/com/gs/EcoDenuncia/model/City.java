@@ -15,7 +15,7 @@ public class City {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cidade_seq")
-    @SequenceGenerator(name = "cidade_seq", sequenceName = "SEQ_TBL_CIDADE", allocationSize = 1)
+    @SequenceGenerator(name = "cidade_seq", sequenceName = "SEQ_TBL_CIDADE", allocationSize = 50)
     @Column(name = "id_cidade")
     private Long id;
 
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "TBL_DENUNCIAS")
+@Table(name = "TBL_DENUNCIAS", indexes = {
+        @Index(name = "IDX_DENUNCIAS_DATA_HORA", columnList = "data_hora, id_denuncia"),
+        @Index(name = "IDX_DENUNCIAS_LOCALIZACAO", columnList = "id_localizacao"),
+        @Index(name = "IDX_DENUNCIAS_ORGAO_STATUS", columnList = "id_orgao, status_atual, id_denuncia")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +22,7 @@ public class Complaint {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "denuncia_seq")
-    @SequenceGenerator(name = "denuncia_seq", sequenceName = "SEQ_TBL_DENUNCIAS", allocationSize = 1)
+    @SequenceGenerator(name = "denuncia_seq", sequenceName = "SEQ_TBL_DENUNCIAS", allocationSize = 50)
     @Column(name = "id_denuncia")
     private Long id;
 
@@ -31,6 +35,7 @@ public class Complaint {
     private Location localizacao;
 
     @NotNull
+    @Column(name = "data_hora")
     private LocalDateTime dataHora;
 
     @NotBlank(message = "Campo obrigatório")
@@ -40,6 +45,18 @@ public class Complaint {
     @JoinColumn(name = "id_orgao", nullable = false)
     private PublicOrganization orgao;
 
+    // Cópia do status do último acompanhamento, mantida pelo ComplaintStatusService. A coluna aceita nulo
+    // só para o ddl-auto=update conseguir adicioná-la numa tabela já populada; o backfill preenche na subida.
+    // updatable = false: só o update em lote do ComplaintStatusService escreve as duas colunas depois do insert;
+    // um save() da entidade carregada antes de um acompanhamento concorrente desfaria o status novo.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_atual", length = 20, updatable = false)
+    @Builder.Default
+    private ComplaintStatus statusAtual = ComplaintStatus.ABERTO;
+
+    @Column(name = "data_ultima_atualizacao", updatable = false)
+    private LocalDateTime dataUltimaAtualizacao;
+
     @OneToMany(mappedBy = "denuncia", cascade = CascadeType.ALL)
     private List<ReportFollowup> acompanhamentos;
 }
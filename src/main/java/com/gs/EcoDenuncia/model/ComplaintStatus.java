@@ -0,0 +1,30 @@
+package com.gs.EcoDenuncia.model;
+
+import java.text.Normalizer;
+import java.util.Optional;
+
+public enum ComplaintStatus {
+    ABERTO,
+    EM_ANDAMENTO,
+    CONCLUIDO;
+
+    // Converte o texto livre dos acompanhamentos ("Em Andamento", "concluído", "Resolvido"...) no código
+    public static Optional<ComplaintStatus> parse(String status) {
+        if (status == null) {
+            return Optional.empty();
+        }
+        var normalized = Normalizer.normalize(status, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace('_', ' ')
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase();
+
+        return switch (normalized) {
+            case "aberto", "aberta", "pendente" -> Optional.of(ABERTO);
+            case "em andamento", "andamento" -> Optional.of(EM_ANDAMENTO);
+            case "concluido", "concluida", "resolvido", "resolvida" -> Optional.of(CONCLUIDO);
+            default -> Optional.empty();
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.gs.EcoDenuncia.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Resposta gravada de um POST com Idempotency-Key (só quando ecodenuncia.idempotency.persistent=true)
+@Entity
+@Table(name = "TBL_IDEMPOTENCIA", indexes = {
+        @Index(name = "IDX_IDEMPOTENCIA_CRIADO_EM", columnList = "criado_em")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "chave")
+public class IdempotencyRecord {
+
+    // Usuário, rota e a chave enviada pelo cliente
+    @Id
+    @Column(name = "chave", length = 400)
+    private String chave;
+
+    @Column(name = "fingerprint", length = 64, nullable = false)
+    private String fingerprint;
+
+    @Column(name = "status", nullable = false)
+    private int status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // Cabeçalhos repetidos na resposta (IdempotencyFilter.REPLAYED_HEADERS), um "Nome: valor" por linha
+    @Column(name = "cabecalhos", length = 2000)
+    private String cabecalhos;
+
+    @Lob
+    @Column(name = "corpo")
+    private byte[] corpo;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+}
@@ -16,7 +16,7 @@ public class Location {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "localizacao_seq")
-    @SequenceGenerator(name = "localizacao_seq", sequenceName = "SEQ_TBL_LOCALIZACAO", allocationSize = 1)
+    @SequenceGenerator(name = "localizacao_seq", sequenceName = "SEQ_TBL_LOCALIZACAO", allocationSize = 50)
     @Column(name = "id_localizacao")
     private Long id;
 
@@ -32,6 +32,10 @@ public class Location {
     @Pattern(regexp = "\\d{8}", message = "CEP deve conter 8 dígitos")
     private String cep;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @ManyToOne
     @JoinColumn(name = "id_bairro", nullable = false)
     private Neighborhood bairro;
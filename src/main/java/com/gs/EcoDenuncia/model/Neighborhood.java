@@ -15,7 +15,7 @@ public class Neighborhood {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bairro_seq")
-    @SequenceGenerator(name = "bairro_seq", sequenceName = "SEQ_TBL_BAIRRO", allocationSize = 1)
+    @SequenceGenerator(name = "bairro_seq", sequenceName = "SEQ_TBL_BAIRRO", allocationSize = 50)
     @Column(name = "id_bairro")
     private Long id;
 
@@ -15,7 +15,7 @@ public class PublicOrganization {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orgao_seq")
-    @SequenceGenerator(name = "orgao_seq", sequenceName = "SEQ_TBL_ORGAOS_PUBLICOS", allocationSize = 1)
+    @SequenceGenerator(name = "orgao_seq", sequenceName = "SEQ_TBL_ORGAOS_PUBLICOS", allocationSize = 50)
     @Column(name = "id_orgao")
     private Long id;
 
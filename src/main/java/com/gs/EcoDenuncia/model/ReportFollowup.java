@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.util.Date;
 
 @Entity
-@Table(name = "TBL_ACOMPANHAMENTO_DENUNCIA")
+@Table(name = "TBL_ACOMPANHAMENTO_DENUNCIA", indexes = {
+        @Index(name = "IDX_ACOMPANHAMENTO_DATA", columnList = "data_atualizacao, id_acompanhamento"),
+        @Index(name = "IDX_ACOMPANHAMENTO_DENUNCIA", columnList = "id_denuncia, data_atualizacao, id_acompanhamento")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -17,7 +20,7 @@ import java.util.Date;
 public class ReportFollowup {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seqAcompanhamento")
-    @SequenceGenerator(name = "seqAcompanhamento", sequenceName = "SEQ_ACOMPANHAMENTO", allocationSize = 1)
+    @SequenceGenerator(name = "seqAcompanhamento", sequenceName = "SEQ_ACOMPANHAMENTO", allocationSize = 50)
     @Column(name = "id_acompanhamento")
     private Long id;
 
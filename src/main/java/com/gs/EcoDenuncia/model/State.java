@@ -15,7 +15,7 @@ public class State {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estado_seq")
-    @SequenceGenerator(name = "estado_seq", sequenceName = "SEQ_TBL_ESTADO", allocationSize = 1)
+    @SequenceGenerator(name = "estado_seq", sequenceName = "SEQ_TBL_ESTADO", allocationSize = 50)
     @Column(name = "id_estado")
     private Long id;
 
@@ -23,7 +23,7 @@ public class User implements UserDetails{
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
-    @SequenceGenerator(name = "usuario_seq", sequenceName = "SEQ_TBL_USUARIOS", allocationSize = 1)
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "SEQ_TBL_USUARIOS", allocationSize = 50)
     @Column(name = "id_usuario")
     private Long id;
 
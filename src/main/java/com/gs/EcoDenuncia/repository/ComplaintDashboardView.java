@@ -0,0 +1,10 @@
+package com.gs.EcoDenuncia.repository;
+
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+
+public interface ComplaintDashboardView {
+    Long getId();
+    Long getLocalizacaoId();
+    Long getOrgaoId();
+    ComplaintStatus getStatusAtual();
+}
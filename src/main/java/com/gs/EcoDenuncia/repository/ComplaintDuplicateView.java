@@ -0,0 +1,10 @@
+package com.gs.EcoDenuncia.repository;
+
+import java.time.LocalDateTime;
+
+public interface ComplaintDuplicateView {
+    Long getId();
+    Long getLocalizacaoId();
+    LocalDateTime getDataHora();
+    String getDescricao();
+}
@@ -0,0 +1,10 @@
+package com.gs.EcoDenuncia.repository;
+
+import java.time.LocalDateTime;
+
+public interface ComplaintGeoView {
+    Long getId();
+    Long getLocalizacaoId();
+    Long getOrgaoId();
+    LocalDateTime getDataHora();
+}
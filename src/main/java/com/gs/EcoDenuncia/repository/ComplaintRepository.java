@@ -1,13 +1,94 @@
 package com.gs.EcoDenuncia.repository;
 
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
 import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ComplaintRepository extends JpaRepository<Complaint, Long>, JpaSpecificationExecutor<Complaint> {
+public interface ComplaintRepository extends JpaRepository<Complaint, Long>, JpaSpecificationExecutor<Complaint>, ComplaintRepositoryCustom {
     List<Complaint> findByUsuarioId(Long usuarioId);
+
+    @Query("""
+            select new com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO(
+                c.id, u.nome, c.descricao, c.dataHora, o.nome, l.logradouro, l.numero, b.nome, ci.nome, e.nome,
+                c.statusAtual, c.dataUltimaAtualizacao)
+            from Complaint c
+            join c.usuario u
+            join c.orgao o
+            join c.localizacao l
+            join l.bairro b
+            join b.cidade ci
+            join ci.estado e
+            where u.id = :usuarioId
+            order by c.id desc
+            """)
+    List<ComplaintResponseDTO> findResponsesByUsuarioId(Long usuarioId);
+
+    List<ComplaintTextView> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("""
+            select c.id as id, c.localizacao.id as localizacaoId, c.orgao.id as orgaoId, c.dataHora as dataHora
+            from Complaint c
+            where c.id > :id
+            order by c.id
+            """)
+    List<ComplaintGeoView> findGeoRowsAfter(Long id, Limit limit);
+
+    @Query("""
+            select c.id as id, c.localizacao.id as localizacaoId, c.orgao.id as orgaoId, c.statusAtual as statusAtual
+            from Complaint c
+            where c.id > :id
+            order by c.id
+            """)
+    List<ComplaintDashboardView> findDashboardRowsAfter(Long id, Limit limit);
+
+    @Query("""
+            select c.id as id, c.localizacao.id as localizacaoId, c.dataHora as dataHora, c.descricao as descricao
+            from Complaint c
+            where c.id > :id and c.dataHora >= :desde
+            order by c.id
+            """)
+    List<ComplaintDuplicateView> findDuplicateRowsAfter(Long id, LocalDateTime desde, Limit limit);
+
+    @Query("select c.id from Complaint c where c.statusAtual is null order by c.id")
+    List<Long> findIdsWithoutStatusAtual(Limit limit);
+
+    // A data vem direto dos acompanhamentos: o último é o de maior data de atualização
+    @Modifying
+    @Transactional
+    @Query("""
+            update Complaint c
+            set c.statusAtual = :status,
+                c.dataUltimaAtualizacao = (select max(f.dataAtualizacao) from ReportFollowup f where f.denuncia = c)
+            where c.id in :ids
+            """)
+    int updateStatusAtual(Collection<Long> ids, ComplaintStatus status);
+
+    @Query("""
+            select c.id as id, c.localizacao.id as localizacaoId, c.orgao.id as orgaoId, c.dataHora as dataHora
+            from Complaint c
+            where c.localizacao.id = :localizacaoId
+            """)
+    List<ComplaintGeoView> findGeoRowsByLocalizacaoId(Long localizacaoId);
+
+    @Query("""
+            select c.id as id, c.localizacao.id as localizacaoId, c.orgao.id as orgaoId, c.dataHora as dataHora
+            from Complaint c
+            where c.localizacao.bairro.id = :bairroId
+            """)
+    List<ComplaintGeoView> findGeoRowsByBairroId(Long bairroId);
+
+    @Query("select max(c.id) from Complaint c")
+    Long findMaxId();
 }
@@ -0,0 +1,20 @@
+package com.gs.EcoDenuncia.repository;
+
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
+import com.gs.EcoDenuncia.model.Complaint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ComplaintRepositoryCustom {
+    Page<ComplaintResponseDTO> findResponses(Specification<Complaint> specification, Pageable pageable);
+
+    List<ComplaintResponseDTO> findResponses(Specification<Complaint> specification, Sort sort, int limit);
+
+    // Cursor somente-avanço; deve ser consumido (e fechado) dentro de uma transação
+    Stream<ComplaintResponseDTO> streamResponses(Specification<Complaint> specification, Sort sort, int fetchSize);
+}
@@ -0,0 +1,66 @@
+package com.gs.EcoDenuncia.repository;
+
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
+import com.gs.EcoDenuncia.model.Complaint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ComplaintRepositoryCustomImpl implements ComplaintRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    static List<Selection<?>> responseColumns(Root<Complaint> root) {
+        var localizacao = root.get("localizacao");
+        var bairro = localizacao.get("bairro");
+        var cidade = bairro.get("cidade");
+
+        return List.of(
+                root.get("id"),
+                root.get("usuario").get("nome"),
+                root.get("descricao"),
+                root.get("dataHora"),
+                root.get("orgao").get("nome"),
+                localizacao.get("logradouro"),
+                localizacao.get("numero"),
+                bairro.get("nome"),
+                cidade.get("nome"),
+                cidade.get("estado").get("nome"),
+                root.get("statusAtual"),
+                root.get("dataUltimaAtualizacao")
+        );
+    }
+
+    private ProjectionQuery<Complaint, ComplaintResponseDTO> responses() {
+        return new ProjectionQuery<>(entityManager, Complaint.class, ComplaintResponseDTO.class,
+                ComplaintRepositoryCustomImpl::responseColumns);
+    }
+
+    @Override
+    public Page<ComplaintResponseDTO> findResponses(Specification<Complaint> specification, Pageable pageable) {
+        return responses().page(specification, pageable);
+    }
+
+    @Override
+    public List<ComplaintResponseDTO> findResponses(Specification<Complaint> specification, Sort sort, int limit) {
+        return responses().list(specification, sort, limit);
+    }
+
+    @Override
+    public Stream<ComplaintResponseDTO> streamResponses(Specification<Complaint> specification, Sort sort, int fetchSize) {
+        return responses().query(specification, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
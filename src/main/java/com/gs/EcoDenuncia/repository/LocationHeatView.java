@@ -0,0 +1,8 @@
+package com.gs.EcoDenuncia.repository;
+
+public interface LocationHeatView {
+    Long getId();
+    Long getBairroId();
+    Double getLatitude();
+    Double getLongitude();
+}
@@ -0,0 +1,7 @@
+package com.gs.EcoDenuncia.repository;
+
+public interface LocationPointView {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+}
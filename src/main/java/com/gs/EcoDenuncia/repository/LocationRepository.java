@@ -1,10 +1,31 @@
 package com.gs.EcoDenuncia.repository;
 
 import com.gs.EcoDenuncia.model.Location;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long>, JpaSpecificationExecutor<Location> {
+public interface LocationRepository extends JpaRepository<Location, Long>, JpaSpecificationExecutor<Location>, LocationRepositoryCustom {
+    List<LocationPointView> findByIdGreaterThanAndLatitudeNotNullAndLongitudeNotNullOrderByIdAsc(Long id, Limit limit);
+
+    @Query("""
+            select l.id as id, l.bairro.id as bairroId, l.latitude as latitude, l.longitude as longitude
+            from Location l
+            where l.id > :id
+            order by l.id
+            """)
+    List<LocationHeatView> findHeatRowsAfter(Long id, Limit limit);
+
+    @Query("""
+            select l.id as id, l.bairro.cidade.id as cidadeId
+            from Location l
+            where l.id > :id
+            order by l.id
+            """)
+    List<LocationCityView> findCityRowsAfter(Long id, Limit limit);
 }
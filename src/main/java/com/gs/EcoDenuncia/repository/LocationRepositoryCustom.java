@@ -0,0 +1,11 @@
+package com.gs.EcoDenuncia.repository;
+
+import com.gs.EcoDenuncia.dto.Location.LocationResponseDTO;
+import com.gs.EcoDenuncia.model.Location;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface LocationRepositoryCustom {
+    Page<LocationResponseDTO> findResponses(Specification<Location> specification, Pageable pageable);
+}
@@ -0,0 +1,44 @@
+package com.gs.EcoDenuncia.repository;
+
+import com.gs.EcoDenuncia.dto.Location.LocationResponseDTO;
+import com.gs.EcoDenuncia.model.Location;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class LocationRepositoryCustomImpl implements LocationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    static List<Selection<?>> responseColumns(Root<Location> root) {
+        var bairro = root.get("bairro");
+        var cidade = bairro.get("cidade");
+
+        return List.of(
+                root.get("id"),
+                root.get("logradouro"),
+                root.get("numero"),
+                root.get("complemento"),
+                root.get("cep"),
+                root.get("latitude"),
+                root.get("longitude"),
+                bairro.get("nome"),
+                cidade.get("nome"),
+                cidade.get("estado").get("nome")
+        );
+    }
+
+    @Override
+    public Page<LocationResponseDTO> findResponses(Specification<Location> specification, Pageable pageable) {
+        return new ProjectionQuery<>(entityManager, Location.class, LocationResponseDTO.class,
+                LocationRepositoryCustomImpl::responseColumns)
+                .page(specification, pageable);
+    }
+}
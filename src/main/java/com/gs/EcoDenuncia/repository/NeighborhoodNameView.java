@@ -0,0 +1,6 @@
+package com.gs.EcoDenuncia.repository;
+
+public interface NeighborhoodNameView {
+    Long getId();
+    String getNome();
+}
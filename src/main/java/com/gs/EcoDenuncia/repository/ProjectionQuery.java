@@ -0,0 +1,89 @@
+package com.gs.EcoDenuncia.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Monta consultas que preenchem o DTO direto no SELECT (um único SQL com joins), aplicando Specification e Sort
+public final class ProjectionQuery<T, R> {
+
+    private final EntityManager entityManager;
+    private final Class<T> entityClass;
+    private final Class<R> dtoClass;
+    private final Function<Root<T>, List<Selection<?>>> columns;
+
+    public ProjectionQuery(EntityManager entityManager, Class<T> entityClass, Class<R> dtoClass,
+                           Function<Root<T>, List<Selection<?>>> columns) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.dtoClass = dtoClass;
+        this.columns = columns;
+    }
+
+    public TypedQuery<R> query(Specification<T> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(dtoClass);
+        Root<T> root = query.from(entityClass);
+
+        query.select(cb.construct(dtoClass, columns.apply(root).toArray(Selection[]::new)));
+
+        if (specification != null) {
+            var predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    public List<R> list(Specification<T> specification, Sort sort, int limit) {
+        return query(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public Page<R> page(Specification<T> specification, Pageable pageable) {
+        var query = query(specification, pageable.getSort());
+
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    public long count(Specification<T> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+
+        query.select(cb.count(root));
+
+        if (specification != null) {
+            var predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -3,10 +3,25 @@ package com.gs.EcoDenuncia.repository;
 import com.gs.EcoDenuncia.model.ReportFollowup;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ReportFollowupRepository extends JpaRepository<ReportFollowup, Long>, JpaSpecificationExecutor<ReportFollowup> {
+public interface ReportFollowupRepository extends JpaRepository<ReportFollowup, Long>, JpaSpecificationExecutor<ReportFollowup>,
+        ReportFollowupRepositoryCustom {
     List<ReportFollowup> findByDenunciaId(Long denunciaId);
+
+    // Último acompanhamento de cada denúncia: maior data de atualização, desempatando pelo id
+    @Query("""
+            select f.denuncia.id as denunciaId, f.status as status
+            from ReportFollowup f
+            where f.denuncia.id in :denunciaIds
+              and not exists (
+                select g.id from ReportFollowup g
+                where g.denuncia = f.denuncia
+                  and (g.dataAtualizacao > f.dataAtualizacao or (g.dataAtualizacao = f.dataAtualizacao and g.id > f.id)))
+            """)
+    List<FollowupStatusView> findLatestStatuses(Collection<Long> denunciaIds);
 }
@@ -0,0 +1,16 @@
+package com.gs.EcoDenuncia.repository;
+
+import com.gs.EcoDenuncia.dto.ReportFollowUp.ReportFollowupResponseDTO;
+import com.gs.EcoDenuncia.model.ReportFollowup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ReportFollowupRepositoryCustom {
+    Page<ReportFollowupResponseDTO> findResponses(Specification<ReportFollowup> specification, Pageable pageable);
+
+    List<ReportFollowupResponseDTO> findResponses(Specification<ReportFollowup> specification, Sort sort, int limit);
+}
@@ -0,0 +1,46 @@
+package com.gs.EcoDenuncia.repository;
+
+import com.gs.EcoDenuncia.dto.ReportFollowUp.ReportFollowupResponseDTO;
+import com.gs.EcoDenuncia.model.ReportFollowup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class ReportFollowupRepositoryCustomImpl implements ReportFollowupRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Só o id da denúncia: a FK da própria tabela, sem join nem o carregamento EAGER da denúncia por linha
+    static List<Selection<?>> responseColumns(Root<ReportFollowup> root) {
+        return List.of(
+                root.get("id"),
+                root.get("status"),
+                root.get("descricao"),
+                root.get("dataAtualizacao"),
+                root.get("denuncia").get("id")
+        );
+    }
+
+    private ProjectionQuery<ReportFollowup, ReportFollowupResponseDTO> responses() {
+        return new ProjectionQuery<>(entityManager, ReportFollowup.class, ReportFollowupResponseDTO.class,
+                ReportFollowupRepositoryCustomImpl::responseColumns);
+    }
+
+    @Override
+    public Page<ReportFollowupResponseDTO> findResponses(Specification<ReportFollowup> specification, Pageable pageable) {
+        return responses().page(specification, pageable);
+    }
+
+    @Override
+    public List<ReportFollowupResponseDTO> findResponses(Specification<ReportFollowup> specification, Sort sort, int limit) {
+        return responses().list(specification, sort, limit);
+    }
+}
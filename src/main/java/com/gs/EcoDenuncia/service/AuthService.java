@@ -1,14 +1,18 @@
 package com.gs.EcoDenuncia.service;
 
+import com.gs.EcoDenuncia.model.User;
 import com.gs.EcoDenuncia.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AuthService implements UserDetailsService {
+@Slf4j
+public class AuthService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository repository;
@@ -19,4 +23,13 @@ public class AuthService implements UserDetailsService {
                 () -> new UsernameNotFoundException("usuário não encontrado")
         );
     }
+
+    // Chamado pelo Spring Security após um login válido quando o hash foi gerado com outro custo do BCrypt
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        user.setSenha(newPassword);
+        log.info("Hash de senha do usuário {} regravado com o custo atual", user.getId());
+        return repository.save(user);
+    }
 }
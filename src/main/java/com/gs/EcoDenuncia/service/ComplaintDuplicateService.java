@@ -0,0 +1,421 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Denúncias parecidas na mesma localização. Cada descrição vira uma assinatura MinHash (HASHES mínimos sobre os
+// trechos de SHINGLE_LENGTH caracteres do texto sem acentos) e a assinatura é cortada em BANDS faixas de ROWS valores:
+// duas denúncias só são comparadas se alguma faixa coincide (LSH), e a similaridade estimada é a fração de mínimos iguais.
+// Só entram as denúncias dos últimos 'window-days' dias, que são as que ainda podem gerar uma visita repetida.
+@Service
+@Slf4j
+public class ComplaintDuplicateService {
+
+    static final int SHINGLE_LENGTH = 4;
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int HASHES = BANDS * ROWS;
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Funções de hash multiply-shift fixas: a assinatura não pode mudar entre execuções
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] ADDENDS = new long[HASHES];
+
+    static {
+        var random = new SplittableRandom(0x5EED_DE_DE_11CAL);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            ADDENDS[i] = random.nextLong();
+        }
+    }
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Value("${ecodenuncia.duplicates.similarity}")
+    private double similarity;
+
+    @Value("${ecodenuncia.duplicates.window-days}")
+    private long windowDays;
+
+    // Mesmo esquema do ComplaintGeoService: escritas no read lock, reconstrução no write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    public record Match(long complaintId, double similaridade) {}
+
+    public record Cluster(long localizacaoId, List<Long> denuncias) {}
+
+    public record Stats(int localizacoes, long denuncias) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        rebuild();
+    }
+
+    // Indexa a denúncia e devolve a mais parecida entre as que já estavam na mesma localização
+    public Optional<Match> index(Complaint complaint) {
+        var signature = signature(complaint.getDescricao());
+        if (signature == null) {
+            return Optional.empty();
+        }
+        long epoch = epoch(complaint.getDataHora());
+        boolean recent = epoch >= windowStart();
+        lock.readLock().lock();
+        try {
+            var partition = recent
+                    ? partitions.computeIfAbsent(complaint.getLocalizacao().getId(), key -> new Partition())
+                    : partitions.get(complaint.getLocalizacao().getId());
+            if (partition == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(partition.put(complaint.getId(), epoch, signature, similarity, recent));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Atualização que pode ter trocado a denúncia de localização
+    public void index(Complaint complaint, Long previousLocationId) {
+        if (previousLocationId != null && !previousLocationId.equals(complaint.getLocalizacao().getId())) {
+            delete(complaint.getId(), previousLocationId);
+        }
+        index(complaint);
+    }
+
+    public void delete(Long complaintId, Long locationId) {
+        lock.readLock().lock();
+        try {
+            var partition = partitions.get(locationId);
+            if (partition != null) {
+                partition.remove(complaintId);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Grupos de denúncias ligadas por similaridade acima do limite, maiores primeiro
+    public List<Cluster> clusters(int limit) {
+        List<Cluster> clusters = new ArrayList<>();
+        partitions.forEach((locationId, partition) -> partition.clusters(similarity)
+                .forEach(ids -> clusters.add(new Cluster(locationId, ids))));
+        clusters.sort(Comparator.<Cluster>comparingInt(cluster -> cluster.denuncias().size()).reversed()
+                .thenComparingLong(cluster -> cluster.denuncias().get(0)));
+        return clusters.size() > limit ? clusters.subList(0, limit) : clusters;
+    }
+
+    public Stats stats() {
+        var current = partitions;
+        long denuncias = current.values().stream().mapToLong(Partition::size).sum();
+        return new Stats(current.size(), denuncias);
+    }
+
+    public long rebuild() {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Partition> fresh = new ConcurrentHashMap<>();
+            var desde = LocalDateTime.ofEpochSecond(windowStart(), 0, ZoneOffset.UTC);
+
+            long total = 0;
+            long lastId = 0;
+            while (true) {
+                var batch = complaintRepository.findDuplicateRowsAfter(lastId, desde, Limit.of(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (var row : batch) {
+                    var signature = signature(row.getDescricao());
+                    if (signature != null) {
+                        fresh.computeIfAbsent(row.getLocalizacaoId(), key -> new Partition())
+                                .append(row.getId(), epoch(row.getDataHora()), signature);
+                        total++;
+                    }
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+
+            partitions = fresh;
+            log.info("Índice de duplicatas reconstruído: {} denúncias em {} localizações", total, fresh.size());
+            return total;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tira da janela as denúncias antigas e as localizações que ficaram vazias. Write lock: uma escrita
+    // concorrente poderia gravar numa localização vazia logo antes de ela sair do mapa.
+    @Scheduled(initialDelayString = "${ecodenuncia.duplicates.prune-interval-ms}",
+            fixedDelayString = "${ecodenuncia.duplicates.prune-interval-ms}")
+    void prune() {
+        long start = windowStart();
+        lock.writeLock().lock();
+        try {
+            long removed = 0;
+            for (var entry : partitions.entrySet()) {
+                removed += entry.getValue().prune(start);
+                partitions.computeIfPresent(entry.getKey(), (key, partition) -> partition.size() == 0 ? null : partition);
+            }
+            if (removed > 0) {
+                log.info("{} denúncias fora da janela removidas do índice de duplicatas", removed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long windowStart() {
+        return epoch(LocalDateTime.now().minusDays(windowDays));
+    }
+
+    private static long epoch(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static String normalize(String descricao) {
+        var folded = MARKS.matcher(Normalizer.normalize(descricao, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    // Nulo para descrição vazia. Texto menor que um trecho vira um trecho só.
+    static int[] signature(String descricao) {
+        if (descricao == null) {
+            return null;
+        }
+        var text = normalize(descricao);
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        var signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int last = Math.max(0, text.length() - SHINGLE_LENGTH);
+        for (int start = 0; start <= last; start++) {
+            long shingle = 0;
+            for (int i = start, end = Math.min(start + SHINGLE_LENGTH, text.length()); i < end; i++) {
+                shingle = shingle * 31 + text.charAt(i);
+            }
+            shingle = mix(shingle);
+            for (int h = 0; h < HASHES; h++) {
+                int value = (int) ((shingle * MULTIPLIERS[h] + ADDENDS[h]) >>> 32);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static int[] bands(int[] signature) {
+        var bands = new int[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            int key = 1;
+            for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+                key = 31 * key + signature[row];
+            }
+            bands[band] = key;
+        }
+        return bands;
+    }
+
+    // Finalizador do MurmurHash3: espalha os bits antes do multiply-shift
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    // Denúncias de uma localização em arrays paralelos (assinaturas e chaves das faixas achatadas). As localizações
+    // costumam ter poucas denúncias, então comparar as chaves das faixas em sequência sai mais barato, em memória,
+    // que manter um mapa de buckets por faixa.
+    static final class Partition {
+        private long[] ids = new long[4];
+        private long[] epochs = new long[4];
+        private int[] signatures = new int[4 * HASHES];
+        private int[] bands = new int[4 * BANDS];
+        private int size;
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void append(long complaintId, long epoch, int[] signature) {
+            add(complaintId, epoch, signature, ComplaintDuplicateService.bands(signature));
+        }
+
+        // Troca a assinatura se a denúncia já estava aqui; 'store' falso só consulta
+        synchronized Match put(long complaintId, long epoch, int[] signature, double threshold, boolean store) {
+            remove(complaintId);
+            var keys = ComplaintDuplicateService.bands(signature);
+            var best = best(signature, keys, threshold);
+            if (store) {
+                add(complaintId, epoch, signature, keys);
+            }
+            return best;
+        }
+
+        synchronized void remove(long complaintId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == complaintId) {
+                    removeAt(i);
+                    return;
+                }
+            }
+        }
+
+        synchronized int prune(long before) {
+            int removed = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                if (epochs[i] < before) {
+                    removeAt(i);
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        // Union-find: em cada faixa, a denúncia é comparada com a primeira do mesmo bucket
+        synchronized List<List<Long>> clusters(double threshold) {
+            var parent = new int[size];
+            for (int i = 0; i < size; i++) {
+                parent[i] = i;
+            }
+            for (int band = 0; band < BANDS; band++) {
+                Map<Integer, Integer> first = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    var previous = first.putIfAbsent(bands[i * BANDS + band], i);
+                    if (previous != null) {
+                        int a = find(parent, previous);
+                        int b = find(parent, i);
+                        if (a != b && similarity(previous, i) >= threshold) {
+                            parent[b] = a;
+                        }
+                    }
+                }
+            }
+
+            Map<Integer, List<Long>> groups = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                groups.computeIfAbsent(find(parent, i), key -> new ArrayList<>()).add(ids[i]);
+            }
+            List<List<Long>> clusters = new ArrayList<>();
+            groups.values().stream()
+                    .filter(ids -> ids.size() > 1)
+                    .forEach(ids -> {
+                        ids.sort(null);
+                        clusters.add(ids);
+                    });
+            return clusters;
+        }
+
+        // Em empate fica a de menor id, a primeira a ser registrada
+        private Match best(int[] signature, int[] keys, double threshold) {
+            Match best = null;
+            for (int i = 0; i < size; i++) {
+                if (!sharesBand(i, keys)) {
+                    continue;
+                }
+                double estimate = similarity(i, signature);
+                if (estimate >= threshold && (best == null || estimate > best.similaridade()
+                        || (estimate == best.similaridade() && ids[i] < best.complaintId()))) {
+                    best = new Match(ids[i], estimate);
+                }
+            }
+            return best;
+        }
+
+        private boolean sharesBand(int index, int[] keys) {
+            int offset = index * BANDS;
+            for (int band = 0; band < BANDS; band++) {
+                if (bands[offset + band] == keys[band]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private double similarity(int index, int[] signature) {
+            int offset = index * HASHES;
+            int equal = 0;
+            for (int h = 0; h < HASHES; h++) {
+                if (signatures[offset + h] == signature[h]) {
+                    equal++;
+                }
+            }
+            return (double) equal / HASHES;
+        }
+
+        private double similarity(int a, int b) {
+            int equal = 0;
+            for (int h = 0; h < HASHES; h++) {
+                if (signatures[a * HASHES + h] == signatures[b * HASHES + h]) {
+                    equal++;
+                }
+            }
+            return (double) equal / HASHES;
+        }
+
+        private void add(long complaintId, long epoch, int[] signature, int[] keys) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                epochs = Arrays.copyOf(epochs, capacity);
+                signatures = Arrays.copyOf(signatures, capacity * HASHES);
+                bands = Arrays.copyOf(bands, capacity * BANDS);
+            }
+            ids[size] = complaintId;
+            epochs[size] = epoch;
+            System.arraycopy(signature, 0, signatures, size * HASHES, HASHES);
+            System.arraycopy(keys, 0, bands, size * BANDS, BANDS);
+            size++;
+        }
+
+        // A ordem não importa: o último ocupa o lugar do removido
+        private void removeAt(int index) {
+            int last = size - 1;
+            ids[index] = ids[last];
+            epochs[index] = epochs[last];
+            System.arraycopy(signatures, last * HASHES, signatures, index * HASHES, HASHES);
+            System.arraycopy(bands, last * BANDS, bands, index * BANDS, BANDS);
+            size--;
+        }
+
+        private static int find(int[] parent, int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gs.EcoDenuncia.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class ComplaintExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // Mesmos campos, na mesma ordem, do ComplaintResponseDTO gravado no NDJSON
+    private static final String CSV_HEADER = "id,nomeUsuario,descricao,dataHora,nomeOrgao,logradouro,numero,bairro,cidade,estado,"
+            + "statusAtual,dataUltimaAtualizacao";
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ecodenuncia.export.fetch-size}")
+    private int fetchSize;
+
+    // Lê as linhas já projetadas em DTO (nenhuma entidade fica no contexto de persistência) e escreve conforme chegam
+    @Transactional(readOnly = true)
+    public long export(Specification<Complaint> specification, Format format, OutputStream output) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        var total = new AtomicLong();
+
+        JsonGenerator generator = null;
+        if (format == Format.NDJSON) {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        } else {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+
+        try (var rows = complaintRepository.streamResponses(specification, Sort.by("id"), fetchSize)) {
+            var json = generator;
+            rows.forEach(row -> {
+                try {
+                    if (json != null) {
+                        objectMapper.writeValue(json, row);
+                        json.writeRaw('\n');
+                    } else {
+                        writeCsv(writer, row);
+                    }
+                    if (total.incrementAndGet() % FLUSH_EVERY == 0) {
+                        if (json != null) {
+                            json.flush();
+                        }
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+
+        log.info("Exportação de denúncias concluída: {} linhas ({})", total.get(), format);
+        return total.get();
+    }
+
+    private static void writeCsv(Writer writer, ComplaintResponseDTO row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        for (var value : new Object[]{row.getNomeUsuario(), row.getDescricao(), row.getDataHora(), row.getNomeOrgao(),
+                row.getLogradouro(), row.getNumero(), row.getBairro(), row.getCidade(), row.getEstado(),
+                row.getStatusAtual(), row.getDataUltimaAtualizacao()}) {
+            writer.write(',');
+            writer.write(csv(value));
+        }
+        writer.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        var text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
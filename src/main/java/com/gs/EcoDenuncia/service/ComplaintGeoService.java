@@ -0,0 +1,381 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice espacial em memória das denúncias: grade regular de células de 'cell-degrees' graus, cada célula com as
+// localizações que caem nela e cada localização com as suas denúncias (id, órgão, data) em arrays primitivos.
+// A consulta por raio só visita as células do retângulo que envolve o círculo.
+@Service
+@Slf4j
+public class ComplaintGeoService {
+
+    private static final double EARTH_RADIUS_M = 6_371_008.8;
+    private static final int REBUILD_BATCH_SIZE = 5000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Value("${ecodenuncia.geo.cell-degrees}")
+    private double cellDegrees;
+
+    // Consultas não travam. As escritas usam o read lock (podem rodar juntas) e a reconstrução usa o write lock,
+    // para nenhuma escrita se perder entre a carga do banco e a troca da grade
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Grid grid = new Grid();
+
+    public record Hit(long complaintId, long locationId, double latitude, double longitude, double distanceMeters) {}
+
+    public record NearbyResult(List<Hit> hits, long total) {}
+
+    public record Stats(int localizacoes, int celulas, long denuncias) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        rebuild();
+    }
+
+    public void index(Complaint complaint) {
+        write(() -> {
+            var current = grid;
+            var site = current.site(complaint.getLocalizacao().getId());
+            current.place(site, complaint.getLocalizacao());
+            site.put(complaint.getId(), complaint.getOrgao().getId(), epoch(complaint.getDataHora()));
+        });
+    }
+
+    // Atualização que pode ter trocado a denúncia de localização
+    public void index(Complaint complaint, Long previousLocationId) {
+        if (previousLocationId != null && !previousLocationId.equals(complaint.getLocalizacao().getId())) {
+            delete(complaint.getId(), previousLocationId);
+        }
+        index(complaint);
+    }
+
+    public void delete(Long complaintId, Long locationId) {
+        write(() -> {
+            var site = grid.sites.get(locationId);
+            if (site != null) {
+                site.remove(complaintId);
+            }
+        });
+    }
+
+    public void updateLocation(Location location) {
+        write(() -> {
+            var current = grid;
+            current.place(current.site(location.getId()), location);
+        });
+    }
+
+    public void deleteLocation(Long locationId) {
+        write(() -> {
+            var current = grid;
+            var site = current.sites.remove(locationId);
+            if (site != null) {
+                current.unplace(site);
+            }
+        });
+    }
+
+    public NearbyResult nearby(double latitude, double longitude, double radiusMeters,
+                               Long orgaoId, LocalDateTime desde, LocalDateTime ate, int limit) {
+        var current = grid;
+        double deltaLat = Math.toDegrees(radiusMeters / EARTH_RADIUS_M);
+        double deltaLon = Math.min(180, deltaLat / Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+
+        // Sem tratar a virada do antimeridiano: longitudes fora de [-180, 180] simplesmente não têm células
+        int minLat = cellIndex(latitude - deltaLat);
+        int maxLat = cellIndex(latitude + deltaLat);
+        int minLon = cellIndex(longitude - deltaLon);
+        int maxLon = cellIndex(longitude + deltaLon);
+
+        var scan = new Scan(latitude, longitude, radiusMeters, orgaoId,
+                desde == null ? Long.MIN_VALUE : epoch(desde),
+                ate == null ? Long.MAX_VALUE : epoch(ate), limit);
+
+        long boxCells = (long) (maxLat - minLat + 1) * (maxLon - minLon + 1);
+        if (boxCells <= current.cells.size()) {
+            for (int i = minLat; i <= maxLat; i++) {
+                for (int j = minLon; j <= maxLon; j++) {
+                    var sites = current.cells.get(GeoGrid.key(i, j));
+                    if (sites != null) {
+                        sites.forEach(scan::visit);
+                    }
+                }
+            }
+        } else {
+            // Raio grande perto de poucas células ocupadas: mais barato percorrer as células existentes
+            current.cells.forEach((key, sites) -> {
+                int i = GeoGrid.latIndex(key);
+                int j = GeoGrid.lonIndex(key);
+                if (i >= minLat && i <= maxLat && j >= minLon && j <= maxLon) {
+                    sites.forEach(scan::visit);
+                }
+            });
+        }
+
+        return scan.result();
+    }
+
+    public Stats stats() {
+        var current = grid;
+        long denuncias = current.sites.values().stream().mapToLong(site -> site.entries.size()).sum();
+        return new Stats(current.sites.size(), current.cells.size(), denuncias);
+    }
+
+    public long rebuild() {
+        lock.writeLock().lock();
+        try {
+            var fresh = new Grid();
+
+            long lastId = 0;
+            while (true) {
+                var batch = locationRepository.findByIdGreaterThanAndLatitudeNotNullAndLongitudeNotNullOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (var row : batch) {
+                    fresh.place(fresh.site(row.getId()), row.getLatitude(), row.getLongitude());
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+
+            long total = 0;
+            lastId = 0;
+            while (true) {
+                var batch = complaintRepository.findGeoRowsAfter(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (var row : batch) {
+                    fresh.site(row.getLocalizacaoId()).append(row.getId(), row.getOrgaoId(), epoch(row.getDataHora()));
+                }
+                total += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+
+            grid = fresh;
+            log.info("Índice geográfico reconstruído: {} denúncias em {} localizações, {} células",
+                    total, fresh.sites.size(), fresh.cells.size());
+            return total;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.readLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int cellIndex(double degrees) {
+        return GeoGrid.index(degrees, cellDegrees);
+    }
+
+    private static long epoch(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private final class Grid {
+        private final Map<Long, Site> sites = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Site>> cells = new ConcurrentHashMap<>();
+
+        Site site(long locationId) {
+            return sites.computeIfAbsent(locationId, Site::new);
+        }
+
+        void place(Site site, Location location) {
+            place(site, location.getLatitude(), location.getLongitude());
+        }
+
+        void place(Site site, Double latitude, Double longitude) {
+            synchronized (site) {
+                long cell = GeoGrid.key(latitude, longitude, cellDegrees);
+                if (site.cell != cell) {
+                    unplace(site);
+                    if (cell != GeoGrid.NO_CELL) {
+                        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(site);
+                    }
+                    site.cell = cell;
+                }
+                site.point = cell == GeoGrid.NO_CELL ? null : new Point(latitude, longitude);
+            }
+        }
+
+        void unplace(Site site) {
+            synchronized (site) {
+                if (site.cell != GeoGrid.NO_CELL) {
+                    cells.computeIfPresent(site.cell, (key, members) -> {
+                        members.remove(site);
+                        return members.isEmpty() ? null : members;
+                    });
+                    site.cell = GeoGrid.NO_CELL;
+                }
+            }
+        }
+    }
+
+    private record Point(double latitude, double longitude) {}
+
+    // Uma localização. Os leitores pegam 'entries' uma vez e leem só até o 'size' daquele instante,
+    // então o append pode escrever depois do fim sem copiar; troca e remoção copiam o array
+    private static final class Site {
+        private final long locationId;
+        private volatile Point point;
+        private long cell = GeoGrid.NO_CELL;
+        private volatile Entries entries = Entries.EMPTY;
+
+        Site(long locationId) {
+            this.locationId = locationId;
+        }
+
+        synchronized void append(long complaintId, long orgaoId, long epoch) {
+            entries = entries.append(complaintId, orgaoId, epoch);
+        }
+
+        synchronized void put(long complaintId, long orgaoId, long epoch) {
+            var current = entries;
+            int index = current.indexOf(complaintId);
+            entries = index < 0
+                    ? current.append(complaintId, orgaoId, epoch)
+                    : current.replace(index, orgaoId, epoch);
+        }
+
+        synchronized void remove(long complaintId) {
+            var current = entries;
+            int index = current.indexOf(complaintId);
+            if (index >= 0) {
+                entries = current.remove(index);
+            }
+        }
+    }
+
+    // Triplas (id da denúncia, id do órgão, data em segundos) lado a lado num único long[]
+    private record Entries(long[] data, int size) {
+        static final Entries EMPTY = new Entries(new long[0], 0);
+
+        int indexOf(long complaintId) {
+            for (int i = 0; i < size; i++) {
+                if (data[i * 3] == complaintId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Entries append(long complaintId, long orgaoId, long epoch) {
+            var target = (size + 1) * 3 > data.length ? Arrays.copyOf(data, Math.max(6, data.length * 2)) : data;
+            target[size * 3] = complaintId;
+            target[size * 3 + 1] = orgaoId;
+            target[size * 3 + 2] = epoch;
+            return new Entries(target, size + 1);
+        }
+
+        Entries replace(int index, long orgaoId, long epoch) {
+            var copy = Arrays.copyOf(data, data.length);
+            copy[index * 3 + 1] = orgaoId;
+            copy[index * 3 + 2] = epoch;
+            return new Entries(copy, size);
+        }
+
+        Entries remove(int index) {
+            var copy = new long[data.length];
+            System.arraycopy(data, 0, copy, 0, index * 3);
+            System.arraycopy(data, (index + 1) * 3, copy, index * 3, (size - index - 1) * 3);
+            return new Entries(copy, size - 1);
+        }
+    }
+
+    // Mantém só os 'limit' mais próximos num heap com o mais distante no topo
+    private static final class Scan {
+        private final double latitude;
+        private final double longitude;
+        private final double radiusMeters;
+        private final Long orgaoId;
+        private final long from;
+        private final long to;
+        private final int limit;
+        private final PriorityQueue<Hit> nearest;
+        private long total;
+
+        Scan(double latitude, double longitude, double radiusMeters, Long orgaoId, long from, long to, int limit) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusMeters = radiusMeters;
+            this.orgaoId = orgaoId;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+            this.nearest = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceMeters).reversed());
+        }
+
+        void visit(Site site) {
+            var point = site.point;
+            if (point == null) {
+                return;
+            }
+            double distance = distanceMeters(latitude, longitude, point.latitude(), point.longitude());
+            if (distance > radiusMeters) {
+                return;
+            }
+
+            var entries = site.entries;
+            var data = entries.data();
+            for (int i = 0; i < entries.size(); i++) {
+                long epoch = data[i * 3 + 2];
+                if ((orgaoId != null && data[i * 3 + 1] != orgaoId) || epoch < from || epoch > to) {
+                    continue;
+                }
+                total++;
+                if (nearest.size() < limit) {
+                    nearest.add(new Hit(data[i * 3], site.locationId, point.latitude(), point.longitude(), distance));
+                } else if (distance < nearest.peek().distanceMeters()) {
+                    nearest.poll();
+                    nearest.add(new Hit(data[i * 3], site.locationId, point.latitude(), point.longitude(), distance));
+                }
+            }
+        }
+
+        NearbyResult result() {
+            var hits = new ArrayList<>(nearest);
+            hits.sort(Comparator.comparingDouble(Hit::distanceMeters).thenComparingLong(Hit::complaintId));
+            return new NearbyResult(hits, total);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.repository.ComplaintGeoView;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Contadores pré-agregados de denúncias por bairro e por célula da grade (a mesma do índice de proximidade),
+// cada um quebrado por dia. As escritas do ComplaintController ajustam os contadores na hora; a reconciliação
+// periódica recalcula tudo a partir do banco e corrige o que escapar (ex.: escrita concorrente com a própria reconciliação).
+@Service
+@Slf4j
+public class ComplaintHeatmapService {
+
+    private static final int RECONCILE_BATCH_SIZE = 5000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Value("${ecodenuncia.geo.cell-degrees}")
+    private double cellDegrees;
+
+    @Value("${ecodenuncia.heatmap.max-zoom}")
+    private int maxZoom;
+
+    // Escritas usam o read lock entre si; a reconciliação só pega o write lock para reaplicar o que chegou
+    // durante a leitura do banco e trocar os contadores
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private volatile Counters counters = new Counters();
+    private volatile Queue<Delta> pending;
+    private volatile Queue<Relocation> relocations;
+    private volatile long cutoff;
+    private volatile long scanned;
+    private volatile boolean loaded;
+
+    // O que uma denúncia soma nos contadores: bairro, célula (NO_CELL sem coordenadas) e dia
+    public record Contribution(long neighborhoodId, long cell, long day) {}
+
+    // Onde uma localização cai nos contadores
+    public record Place(long neighborhoodId, long cell) {}
+
+    public record CellCount(double latitude, double longitude, double lado, long total) {}
+
+    public record Bounds(double minLat, double maxLat, double minLon, double maxLon) {
+
+        boolean contains(double latitude, double longitude) {
+            return latitude >= minLat && latitude <= maxLat && longitude >= minLon && longitude <= maxLon;
+        }
+    }
+
+    private record Delta(Contribution contribution, long amount) {}
+
+    // Localização que mudou de lugar durante a reconciliação, com as denúncias que estavam nela
+    private record Relocation(long locationId, Place before, Place after, List<ComplaintGeoView> complaints) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${ecodenuncia.heatmap.reconcile-interval-ms}",
+            fixedDelayString = "${ecodenuncia.heatmap.reconcile-interval-ms}")
+    void scheduledReconcile() {
+        // A carga inicial é a do ApplicationReadyEvent; antes dela a base ainda pode estar sendo populada
+        if (loaded) {
+            reconcile();
+        }
+    }
+
+    public Contribution contributionOf(Complaint complaint) {
+        var localizacao = complaint.getLocalizacao();
+        return new Contribution(
+                localizacao.getBairro().getId(),
+                GeoGrid.key(localizacao.getLatitude(), localizacao.getLongitude(), cellDegrees),
+                complaint.getDataHora().toLocalDate().toEpochDay());
+    }
+
+    public Place placeOf(Location location) {
+        return new Place(location.getBairro().getId(),
+                GeoGrid.key(location.getLatitude(), location.getLongitude(), cellDegrees));
+    }
+
+    // Localização que mudou de bairro ou de coordenada leva junto as denúncias já contadas nela
+    public void relocate(Long locationId, Place before, Place after) {
+        if (before.equals(after)) {
+            return;
+        }
+        var complaints = complaintRepository.findGeoRowsByLocalizacaoId(locationId);
+        lock.readLock().lock();
+        try {
+            complaints.forEach(row -> move(counters, before, after, row));
+            // A leitura da reconciliação pode ter pego o lugar antigo ou o novo: decide na hora de reaplicar
+            var journal = relocations;
+            if (journal != null) {
+                journal.add(new Relocation(locationId, before, after, complaints));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Complaint complaint) {
+        apply(complaint.getId(), contributionOf(complaint), 1);
+    }
+
+    public void remove(Long complaintId, Contribution contribution) {
+        apply(complaintId, contribution, -1);
+    }
+
+    // 'before' deve ser capturado antes de alterar a entidade
+    public void replace(Contribution before, Complaint after) {
+        var now = contributionOf(after);
+        if (!now.equals(before)) {
+            apply(after.getId(), before, -1);
+            apply(after.getId(), now, 1);
+        }
+    }
+
+    // zoom = max-zoom usa a célula base; cada nível abaixo dobra o lado da célula
+    public List<CellCount> cells(int zoom, LocalDate desde, LocalDate ate, Bounds bounds) {
+        int shift = maxZoom - Math.max(0, Math.min(zoom, maxZoom));
+        double side = cellDegrees * (1L << shift);
+        long from = desde == null ? Long.MIN_VALUE : desde.toEpochDay();
+        long to = ate == null ? Long.MAX_VALUE : ate.toEpochDay();
+
+        Map<Long, Long> rollup = new HashMap<>();
+        counters.cells.forEach((key, series) -> {
+            int i = GeoGrid.latIndex(key);
+            int j = GeoGrid.lonIndex(key);
+            if (bounds != null && !bounds.contains((i + 0.5) * cellDegrees, (j + 0.5) * cellDegrees)) {
+                return;
+            }
+            long total = series.sum(from, to);
+            if (total > 0) {
+                rollup.merge(GeoGrid.key(i >> shift, j >> shift), total, Long::sum);
+            }
+        });
+
+        List<CellCount> result = new ArrayList<>(rollup.size());
+        rollup.forEach((key, total) -> result.add(new CellCount(
+                (GeoGrid.latIndex(key) + 0.5) * side, (GeoGrid.lonIndex(key) + 0.5) * side, side, total)));
+        return result;
+    }
+
+    public long neighborhood(long neighborhoodId, LocalDate desde, LocalDate ate) {
+        var series = counters.neighborhoods.get(neighborhoodId);
+        return series == null ? 0 : series.sum(
+                desde == null ? Long.MIN_VALUE : desde.toEpochDay(),
+                ate == null ? Long.MAX_VALUE : ate.toEpochDay());
+    }
+
+    // Escritas que chegam durante a leitura do banco vão para a fila de pendentes quando a leitura não vai
+    // enxergá-las: denúncia já lida ou criada depois do corte. Sobra só a corrida com o lote sendo lido no
+    // momento, que a rodada seguinte corrige.
+    public long reconcile() {
+        reconcileLock.lock();
+        try {
+            long start = System.nanoTime();
+            scanned = 0;
+            cutoff = Long.MAX_VALUE;
+            pending = new ConcurrentLinkedQueue<>();
+            relocations = new ConcurrentLinkedQueue<>();
+            var maxId = complaintRepository.findMaxId();
+            cutoff = maxId == null ? 0 : maxId;
+            var fresh = new Counters();
+            Map<Long, Place> places;
+            try {
+                places = load(fresh);
+            } catch (RuntimeException e) {
+                pending = null;
+                relocations = null;
+                throw e;
+            }
+
+            long drift;
+            lock.writeLock().lock();
+            try {
+                pending.forEach(delta -> fresh.add(delta.contribution(), delta.amount()));
+                pending = null;
+                replay(relocations, places, fresh);
+                relocations = null;
+                drift = loaded ? fresh.difference(counters) : 0;
+                counters = fresh;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            if (drift > 0) {
+                log.warn("Mapa de calor reconciliado com {} contagens corrigidas", drift);
+            }
+            log.info("Mapa de calor recalculado em {} ms: {} bairros, {} células",
+                    (System.nanoTime() - start) / 1_000_000, fresh.neighborhoods.size(), fresh.cells.size());
+            return drift;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    // Denúncias até o corte foram contadas no lugar que a leitura viu para a localização: só mudam se esse era o
+    // lugar antigo da relocação (senão a leitura já pegou o novo). As de depois do corte vieram pela fila com o
+    // lugar da hora da escrita e mudam sempre, como nos contadores ao vivo.
+    private void replay(Queue<Relocation> journal, Map<Long, Place> places, Counters target) {
+        Map<Long, Place> moved = new HashMap<>();
+        for (var relocation : journal) {
+            var counted = moved.getOrDefault(relocation.locationId(), places.get(relocation.locationId()));
+            boolean countedBefore = relocation.before().equals(counted);
+            for (var row : relocation.complaints()) {
+                if (row.getId() > cutoff || countedBefore) {
+                    move(target, relocation.before(), relocation.after(), row);
+                }
+            }
+            if (countedBefore) {
+                moved.put(relocation.locationId(), relocation.after());
+            }
+        }
+    }
+
+    private static void move(Counters target, Place before, Place after, ComplaintGeoView row) {
+        long day = row.getDataHora().toLocalDate().toEpochDay();
+        target.add(new Contribution(before.neighborhoodId(), before.cell(), day), -1);
+        target.add(new Contribution(after.neighborhoodId(), after.cell(), day), 1);
+    }
+
+    private Map<Long, Place> load(Counters target) {
+        Map<Long, Place> places = new HashMap<>();
+
+        long lastId = 0;
+        while (true) {
+            var batch = locationRepository.findHeatRowsAfter(lastId, Limit.of(RECONCILE_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (var row : batch) {
+                places.put(row.getId(), new Place(row.getBairroId(), GeoGrid.key(row.getLatitude(), row.getLongitude(), cellDegrees)));
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        long cutoff = this.cutoff;
+        lastId = 0;
+        while (lastId < cutoff) {
+            var batch = complaintRepository.findGeoRowsAfter(lastId, Limit.of(RECONCILE_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (var row : batch) {
+                var place = places.get(row.getLocalizacaoId());
+                if (row.getId() <= cutoff && place != null) {
+                    target.add(new Contribution(place.neighborhoodId(), place.cell(), row.getDataHora().toLocalDate().toEpochDay()), 1);
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            scanned = lastId;
+        }
+        return places;
+    }
+
+    private void apply(long complaintId, Contribution contribution, long amount) {
+        lock.readLock().lock();
+        try {
+            counters.add(contribution, amount);
+            var journal = pending;
+            if (journal != null && (complaintId <= scanned || complaintId > cutoff)) {
+                journal.add(new Delta(contribution, amount));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Counters {
+        private final Map<Long, Series> neighborhoods = new ConcurrentHashMap<>();
+        private final Map<Long, Series> cells = new ConcurrentHashMap<>();
+
+        void add(Contribution contribution, long amount) {
+            neighborhoods.computeIfAbsent(contribution.neighborhoodId(), key -> new Series()).add(contribution.day(), amount);
+            if (contribution.cell() != GeoGrid.NO_CELL) {
+                cells.computeIfAbsent(contribution.cell(), key -> new Series()).add(contribution.day(), amount);
+            }
+        }
+
+        // Soma das diferenças absolutas por bairro, só para dar uma ideia do desvio corrigido
+        long difference(Counters other) {
+            long drift = 0;
+            for (var entry : neighborhoods.entrySet()) {
+                var previous = other.neighborhoods.get(entry.getKey());
+                drift += Math.abs(entry.getValue().total.sum() - (previous == null ? 0 : previous.total.sum()));
+            }
+            for (var entry : other.neighborhoods.entrySet()) {
+                if (!neighborhoods.containsKey(entry.getKey())) {
+                    drift += Math.abs(entry.getValue().total.sum());
+                }
+            }
+            return drift;
+        }
+    }
+
+    private static final class Series {
+        private final LongAdder total = new LongAdder();
+        private final Map<Long, LongAdder> days = new ConcurrentHashMap<>();
+
+        void add(long day, long amount) {
+            total.add(amount);
+            days.computeIfAbsent(day, key -> new LongAdder()).add(amount);
+        }
+
+        long sum(long from, long to) {
+            if (from == Long.MIN_VALUE && to == Long.MAX_VALUE) {
+                return total.sum();
+            }
+            long sum = 0;
+            for (var entry : days.entrySet()) {
+                if (entry.getKey() >= from && entry.getKey() <= to) {
+                    sum += entry.getValue().sum();
+                }
+            }
+            return sum;
+        }
+    }
+}
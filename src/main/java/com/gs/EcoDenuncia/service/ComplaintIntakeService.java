@@ -0,0 +1,341 @@
+package com.gs.EcoDenuncia.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintRequestDTO;
+import com.gs.EcoDenuncia.exception.ServiceUnavailableException;
+import com.gs.EcoDenuncia.exception.TooManyRequestsException;
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.PublicOrganization;
+import com.gs.EcoDenuncia.model.User;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import com.gs.EcoDenuncia.repository.PublicOrganizationRepository;
+import com.gs.EcoDenuncia.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Recebimento assíncrono de denúncias (ecodenuncia.intake.enabled): o POST só valida e enfileira, e uma thread
+// grava em lotes, resolvendo usuário, localização e órgão com uma consulta por tabela. A fila é limitada: cheia,
+// o POST responde 503; um usuário com denúncias demais aguardando recebe 429.
+@Service
+@Slf4j
+public class ComplaintIntakeService {
+
+    private static final long POLL_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private PublicOrganizationRepository publicOrganizationRepository;
+
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+
+    @Autowired
+    private ComplaintGeoService complaintGeoService;
+
+    @Autowired
+    private ComplaintHeatmapService complaintHeatmapService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private ComplaintDuplicateService complaintDuplicateService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${ecodenuncia.intake.enabled}")
+    private boolean enabled;
+
+    @Value("${ecodenuncia.intake.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${ecodenuncia.intake.batch-size}")
+    private int batchSize;
+
+    @Value("${ecodenuncia.intake.max-pending-per-user}")
+    private int maxPendingPerUser;
+
+    @Value("${ecodenuncia.intake.tracking-ttl-minutes}")
+    private long trackingTtlMinutes;
+
+    @Value("${ecodenuncia.intake.max-completed-trackings}")
+    private long maxCompletedTrackings;
+
+    private BlockingQueue<Submission> queue;
+    // Pendentes nunca somem antes da gravação e são limitados pela fila (mais o lote em andamento); os concluídos
+    // ficam até o TTL ou até passar de max-completed-trackings, o que vier antes
+    private final Map<String, Tracking> pendingTrackings = new ConcurrentHashMap<>();
+    private Cache<String, Tracking> completedTrackings;
+    private final Map<Long, Integer> pendingByUser = new ConcurrentHashMap<>();
+    private Thread writer;
+    private volatile boolean accepting;
+    private volatile double itemsPerSecond;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+
+    public enum Status { PENDENTE, GRAVADA, REJEITADA }
+
+    // idUsuario é quem enviou (pode ser um ADMIN enviando por outro usuário); só ele e ADMIN consultam
+    public record Tracking(String trackingId, Long idUsuario, Status status, Long idDenuncia, String mensagem) {}
+
+    public record Stats(int fila, int capacidadeFila, long recebidas, long gravadas, long rejeitadas, long recusadas,
+                        long lotes, double mediaLoteMs) {}
+
+    private record Submission(String trackingId, Long submitterId, ComplaintRequestDTO dto) {}
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        completedTrackings = Caffeine.newBuilder()
+                .maximumSize(maxCompletedTrackings)
+                .expireAfterWrite(Duration.ofMinutes(trackingTtlMinutes))
+                .build();
+        if (enabled) {
+            accepting = true;
+            writer = new Thread(this::drain, "complaint-intake");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    // Para de aceitar e grava o que já estava na fila antes de fechar índices e conexões
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        accepting = false;
+        writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        if (writer.isAlive()) {
+            log.warn("Recebimento de denúncias encerrado com {} itens ainda na fila", queue.size());
+            writer.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Tracking submit(ComplaintRequestDTO dto, Long submitterId) {
+        // Nada que dependa do banco: só o que o writer não teria como corrigir
+        if (dto.getIdUsuario() == null || dto.getIdLocalizacao() == null || dto.getIdOrgao() == null
+                || dto.getDataHora() == null || dto.getDescricao() == null || dto.getDescricao().isBlank()) {
+            throw new IllegalArgumentException("Informe idUsuario, idLocalizacao, idOrgao, dataHora e descricao");
+        }
+        if (!accepting) {
+            throw new ServiceUnavailableException("Recebimento de denúncias indisponível, tente novamente em instantes", 1);
+        }
+        if (pendingByUser.merge(submitterId, 1, Integer::sum) > maxPendingPerUser) {
+            release(submitterId);
+            refused.increment();
+            throw new TooManyRequestsException("Muitas denúncias aguardando gravação para este usuário, tente novamente em instantes", retryAfterSeconds());
+        }
+
+        var tracking = new Tracking(UUID.randomUUID().toString(), submitterId, Status.PENDENTE, null, null);
+        pendingTrackings.put(tracking.trackingId(), tracking);
+        if (!queue.offer(new Submission(tracking.trackingId(), submitterId, dto))) {
+            pendingTrackings.remove(tracking.trackingId());
+            release(submitterId);
+            refused.increment();
+            log.warn("Fila de denúncias cheia ({} itens), requisição rejeitada", queueCapacity);
+            throw new ServiceUnavailableException("Fila de denúncias cheia, tente novamente em instantes", retryAfterSeconds());
+        }
+        received.increment();
+        return tracking;
+    }
+
+    // Pendentes primeiro: complete() grava o resultado antes de tirar o pendente
+    public Optional<Tracking> tracking(String trackingId) {
+        var tracking = pendingTrackings.get(trackingId);
+        return Optional.ofNullable(tracking != null ? tracking : completedTrackings.getIfPresent(trackingId));
+    }
+
+    public Stats stats() {
+        long count = batches.sum();
+        return new Stats(queue.size(), queueCapacity, received.sum(), written.sum(), rejected.sum(), refused.sum(),
+                count, count == 0 ? 0 : batchNanos.sum() / 1e6 / count);
+    }
+
+    private void drain() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada ao gravar lote de {} denúncias", batch.size(), e);
+                batch.stream()
+                        .filter(submission -> pendingTrackings.containsKey(submission.trackingId()))
+                        .forEach(submission -> reject(submission, "Falha ao gravar a denúncia"));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Submission> batch) {
+        long start = System.nanoTime();
+
+        // Uma consulta por tabela para o lote inteiro, como no POST /complaints/bulk
+        Map<Long, User> usuarios = byId(userRepository.findAllById(distinct(batch, ComplaintRequestDTO::getIdUsuario)), User::getId);
+        Map<Long, Location> localizacoes = byId(locationRepository.findAllById(distinct(batch, ComplaintRequestDTO::getIdLocalizacao)), Location::getId);
+        Map<Long, PublicOrganization> orgaos = byId(publicOrganizationRepository.findAllById(distinct(batch, ComplaintRequestDTO::getIdOrgao)), PublicOrganization::getId);
+
+        List<Submission> accepted = new ArrayList<>(batch.size());
+        for (var submission : batch) {
+            var dto = submission.dto();
+            if (!usuarios.containsKey(dto.getIdUsuario())) {
+                reject(submission, "Usuário não encontrado: " + dto.getIdUsuario());
+            } else if (!localizacoes.containsKey(dto.getIdLocalizacao())) {
+                reject(submission, "Localização não encontrada: " + dto.getIdLocalizacao());
+            } else if (!orgaos.containsKey(dto.getIdOrgao())) {
+                reject(submission, "Órgão não encontrado: " + dto.getIdOrgao());
+            } else {
+                accepted.add(submission);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Function<Submission, Complaint> toComplaint = submission -> Complaint.builder()
+                .usuario(usuarios.get(submission.dto().getIdUsuario()))
+                .localizacao(localizacoes.get(submission.dto().getIdLocalizacao()))
+                .orgao(orgaos.get(submission.dto().getIdOrgao()))
+                .dataHora(submission.dto().getDataHora())
+                .descricao(submission.dto().getDescricao())
+                .build();
+
+        List<Complaint> saved;
+        try {
+            saved = complaintRepository.saveAll(accepted.stream().map(toComplaint).toList());
+        } catch (RuntimeException e) {
+            // Isola a denúncia com problema; as entidades são recriadas porque o lote que falhou já tinha ids
+            log.warn("Lote de {} denúncias falhou, gravando uma a uma", accepted.size(), e);
+            saved = new ArrayList<>(accepted.size());
+            for (var iterator = accepted.iterator(); iterator.hasNext(); ) {
+                var submission = iterator.next();
+                try {
+                    saved.add(complaintRepository.save(toComplaint.apply(submission)));
+                } catch (RuntimeException single) {
+                    log.error("Falha ao gravar denúncia do rastreio {}", submission.trackingId(), single);
+                    reject(submission, "Falha ao gravar a denúncia");
+                    iterator.remove();
+                }
+            }
+        }
+
+        // GRAVADA assim que a linha existe: uma falha nos índices abaixo não pode levar o cliente a reenviar
+        for (int i = 0; i < saved.size(); i++) {
+            var submission = accepted.get(i);
+            complete(submission, new Tracking(submission.trackingId(), submission.submitterId(),
+                    Status.GRAVADA, saved.get(i).getId(), null));
+            release(submission.submitterId());
+        }
+
+        updateIndex("busca", saved, complaintSearchService::index);
+        updateIndex("mapa", saved, complaintGeoService::index);
+        updateIndex("mapa de calor", saved, complaintHeatmapService::add);
+        updateIndex("painel", saved, dashboardCounterService::add);
+        updateIndex("duplicatas", saved, complaintDuplicateService::index);
+        var complaints = cacheManager.getCache("complaints");
+        if (complaints != null) {
+            complaints.clear();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        written.add(saved.size());
+        batches.increment();
+        batchNanos.add(elapsed);
+        itemsPerSecond = batch.size() / Math.max(elapsed / 1e9, 1e-3);
+    }
+
+    // A reconstrução/reconciliação periódica de cada índice corrige o que ficar de fora aqui
+    private static void updateIndex(String index, List<Complaint> saved, Consumer<Complaint> update) {
+        for (var complaint : saved) {
+            try {
+                update.accept(complaint);
+            } catch (RuntimeException e) {
+                log.error("Falha ao atualizar o índice de {} com a denúncia {}", index, complaint.getId(), e);
+            }
+        }
+    }
+
+    // Entra no cache de concluídos antes de sair dos pendentes, para a consulta nunca ficar sem nenhum dos dois
+    private void complete(Submission submission, Tracking tracking) {
+        completedTrackings.put(submission.trackingId(), tracking);
+        pendingTrackings.remove(submission.trackingId());
+    }
+
+    private void reject(Submission submission, String mensagem) {
+        complete(submission, new Tracking(submission.trackingId(), submission.submitterId(),
+                Status.REJEITADA, null, mensagem));
+        release(submission.submitterId());
+        rejected.increment();
+    }
+
+    private void release(Long submitterId) {
+        pendingByUser.computeIfPresent(submitterId, (id, pending) -> pending == 1 ? null : pending - 1);
+    }
+
+    // Tempo para o writer esvaziar a fila no ritmo do último lote
+    private long retryAfterSeconds() {
+        double rate = itemsPerSecond;
+        return rate <= 0 ? 1 : Math.max(1, (long) Math.ceil(queue.size() / rate));
+    }
+
+    private static List<Long> distinct(List<Submission> batch, Function<ComplaintRequestDTO, Long> id) {
+        return batch.stream().map(submission -> id.apply(submission.dto())).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
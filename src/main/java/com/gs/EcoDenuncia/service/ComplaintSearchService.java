@@ -0,0 +1,285 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.analysis.br.BrazilianStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Índice Lucene das descrições. Escritas pontuais (index/delete) e a reconstrução gravam no mesmo IndexWriter;
+// a reconstrução nunca esvazia o índice: regrava cada denúncia com updateDocument marcando uma nova geração e, no
+// fim, apaga o que ficou com geração antiga (denúncias que não existem mais). O searcher é reaberto por agenda.
+@Service
+@Slf4j
+public class ComplaintSearchService {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_DESCRICAO = "descricao";
+    private static final String FIELD_GERACAO = "geracao";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Value("${ecodenuncia.search.index-dir}")
+    private Path indexDir;
+
+    private final Analyzer analyzer = new PortugueseAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Segura cada escrita pontual e cada lote da reconstrução: um lote lido do banco antes de uma edição ou remoção
+    // não pode regravar a versão velha depois dela. ReentrantLock pelo mesmo motivo do rebuildLock.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long generation = System.currentTimeMillis();
+
+    // Ids escritos pelas operações pontuais durante a reconstrução em andamento (nulo fora dela)
+    private Set<Long> touchedDuringRebuild;
+
+    public record SearchResult(List<Long> ids, long totalHits) {}
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = FSDirectory.open(indexDir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0 && complaintRepository.count() > 0) {
+            log.info("Índice de denúncias vazio, reconstruindo a partir do banco");
+            rebuild();
+        }
+    }
+
+    public void index(Complaint complaint) {
+        index(complaint.getId(), complaint.getDescricao());
+    }
+
+    public void index(Long id, String descricao) {
+        writeLock.lock();
+        try {
+            touch(id);
+            writer.updateDocument(new Term(FIELD_ID, id.toString()), toDocument(id, descricao, generation));
+        } catch (IOException e) {
+            log.error("Falha ao indexar denúncia {}", id, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void delete(Long id) {
+        writeLock.lock();
+        try {
+            touch(id);
+            writer.deleteDocuments(new Term(FIELD_ID, id.toString()));
+        } catch (IOException e) {
+            log.error("Falha ao remover denúncia {} do índice", id, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void touch(Long id) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.add(id);
+        }
+    }
+
+    public SearchResult search(String text, Pageable pageable) {
+        var query = new QueryBuilder(analyzer).createBooleanQuery(FIELD_DESCRICAO, text, BooleanClause.Occur.SHOULD);
+        if (query == null) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            int offset = (int) pageable.getOffset();
+            var topDocs = searcher.search(query, offset + pageable.getPageSize());
+            var storedFields = searcher.storedFields();
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                ids.add(Long.valueOf(storedFields.document(topDocs.scoreDocs[i].doc).get(FIELD_ID)));
+            }
+            return new SearchResult(ids, topDocs.totalHits.value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (searcher != null) {
+                release(searcher);
+            }
+        }
+    }
+
+    // ReentrantLock em vez de synchronized: a reconstrução faz I/O longo e, em virtual threads, prenderia o carrier
+    public long rebuild() {
+        rebuildLock.lock();
+        try {
+            long current = System.currentTimeMillis();
+            writeLock.lock();
+            try {
+                generation = current;
+                touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+            } finally {
+                writeLock.unlock();
+            }
+
+            long total = 0;
+            long lastId = 0;
+            while (true) {
+                var batch = complaintRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                writeLock.lock();
+                try {
+                    for (var row : batch) {
+                        // Editada ou removida depois da leitura do lote: a escrita pontual já é a mais nova
+                        if (!touchedDuringRebuild.contains(row.getId())) {
+                            writer.updateDocument(new Term(FIELD_ID, row.getId().toString()),
+                                    toDocument(row.getId(), row.getDescricao(), current));
+                        }
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+                total += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+
+            // O que não foi regravado nesta geração (nem por escrita pontual) não existe mais no banco
+            writeLock.lock();
+            try {
+                writer.deleteDocuments(new BooleanQuery.Builder()
+                        .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                        .add(LongPoint.newRangeQuery(FIELD_GERACAO, current, Long.MAX_VALUE), BooleanClause.Occur.MUST_NOT)
+                        .build());
+            } finally {
+                writeLock.unlock();
+            }
+
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Índice de denúncias reconstruído com {} documentos", total);
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.lock();
+            try {
+                touchedDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    // Torna visíveis as escritas pontuais sem reabrir o searcher a cada uma
+    @Scheduled(fixedDelayString = "${ecodenuncia.search.refresh-interval-ms}")
+    void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Falha ao reabrir o índice de denúncias", e);
+        }
+    }
+
+    // Durante a reconstrução quem persiste é ela, no fim
+    @Scheduled(fixedDelayString = "${ecodenuncia.search.commit-interval-ms}")
+    void commit() {
+        if (rebuildLock.isLocked()) {
+            return;
+        }
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("Falha ao persistir o índice de denúncias", e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Falha ao liberar searcher do índice", e);
+        }
+    }
+
+    private static Document toDocument(Long id, String descricao, long generation) {
+        var document = new Document();
+        document.add(new StringField(FIELD_ID, id.toString(), Field.Store.YES));
+        document.add(new TextField(FIELD_DESCRICAO, descricao == null ? "" : descricao, Field.Store.NO));
+        document.add(new LongPoint(FIELD_GERACAO, generation));
+        return document;
+    }
+
+    // Tokeniza, remove stopwords, tira acentos e aplica o stemmer de português
+    private static class PortugueseAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            var tokenizer = new StandardTokenizer();
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            stream = new StopFilter(stream, BrazilianAnalyzer.getDefaultStopSet());
+            stream = new ASCIIFoldingFilter(stream);
+            stream = new BrazilianStemFilter(stream);
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.ReportFollowupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Mantém Complaint.statusAtual/dataUltimaAtualizacao iguais ao último acompanhamento de cada denúncia
+@Service
+@Slf4j
+public class ComplaintStatusService {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private ReportFollowupRepository reportFollowupRepository;
+
+    public static Map<Long, ComplaintStatus> statusesOf(Collection<Complaint> complaints) {
+        Map<Long, ComplaintStatus> statuses = new HashMap<>();
+        complaints.forEach(complaint -> statuses.put(complaint.getId(), complaint.getStatusAtual()));
+        return statuses;
+    }
+
+    // Relê o último acompanhamento das denúncias e grava o status de cada uma; devolve o status novo.
+    // Sem acompanhamento, ou com texto legado que não se reconhece, a denúncia fica ABERTO.
+    public Map<Long, ComplaintStatus> refresh(Collection<Long> complaintIds) {
+        Map<Long, ComplaintStatus> statuses = new HashMap<>();
+        complaintIds.forEach(id -> statuses.put(id, ComplaintStatus.ABERTO));
+        for (var row : reportFollowupRepository.findLatestStatuses(complaintIds)) {
+            statuses.put(row.getDenunciaId(), ComplaintStatus.parse(row.getStatus()).orElse(ComplaintStatus.ABERTO));
+        }
+
+        // Um update por status em vez de um por denúncia
+        Map<ComplaintStatus, List<Long>> byStatus = new EnumMap<>(ComplaintStatus.class);
+        statuses.forEach((id, status) -> byStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(id));
+        byStatus.forEach((status, ids) -> complaintRepository.updateStatusAtual(ids, status));
+        return statuses;
+    }
+
+    // Denúncias gravadas antes da coluna existir (ou por fora da aplicação); roda antes dos contadores do painel
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    void backfill() {
+        long start = System.nanoTime();
+        long total = 0;
+        while (true) {
+            var ids = complaintRepository.findIdsWithoutStatusAtual(Limit.of(BACKFILL_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            refresh(ids);
+            total += ids.size();
+        }
+        if (total > 0) {
+            log.info("Status atual preenchido em {} denúncias em {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
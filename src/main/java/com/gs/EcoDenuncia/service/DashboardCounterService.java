@@ -0,0 +1,331 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+import com.gs.EcoDenuncia.repository.ComplaintGeoView;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Totais do painel administrativo mantidos em memória: denúncias por órgão, por cidade e por status atual
+// (o do último acompanhamento, gravado em Complaint.statusAtual). Mesmo esquema do mapa de calor: as escritas
+// ajustam os contadores na hora e a reconciliação periódica recalcula tudo a partir do banco.
+@Service
+@Slf4j
+public class DashboardCounterService {
+
+    private static final int RECONCILE_BATCH_SIZE = 5000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private volatile Counters counters = new Counters();
+    private volatile Queue<Consumer<Counters>> pending;
+    private volatile Queue<Relocation> relocations;
+    private volatile long cutoff;
+    private volatile long scanned;
+    private volatile boolean loaded;
+
+    // Onde uma denúncia soma: órgão e cidade da localização
+    public record Contribution(long orgaoId, long cidadeId) {}
+
+    // Mudança de cidade vista durante a reconciliação, com as denúncias que foram junto
+    private record Relocation(long cidadeBefore, long cidadeAfter, List<ComplaintGeoView> complaints) {}
+
+    public record Stats(long total, Map<ComplaintStatus, Long> porStatus, Map<Long, Long> porOrgao, Map<Long, Long> porCidade) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${ecodenuncia.dashboard.reconcile-interval-ms}",
+            fixedDelayString = "${ecodenuncia.dashboard.reconcile-interval-ms}")
+    void scheduledReconcile() {
+        if (loaded) {
+            reconcile();
+        }
+    }
+
+    public Stats stats() {
+        return counters.stats();
+    }
+
+    public Contribution contributionOf(Complaint complaint) {
+        return new Contribution(complaint.getOrgao().getId(),
+                complaint.getLocalizacao().getBairro().getCidade().getId());
+    }
+
+    public void add(Complaint complaint) {
+        var contribution = contributionOf(complaint);
+        var status = complaint.getStatusAtual();
+        apply(complaint.getId(), target -> target.add(contribution, status, 1));
+    }
+
+    // 'before' deve ser capturado antes de alterar a entidade
+    public void replace(Contribution before, Complaint after) {
+        var now = contributionOf(after);
+        if (!now.equals(before)) {
+            apply(after.getId(), target -> target.move(before, now, 1));
+        }
+    }
+
+    public void remove(Long complaintId, Contribution contribution, ComplaintStatus status) {
+        apply(complaintId, target -> target.add(contribution, status, -1));
+    }
+
+    // 'before' sai das entidades carregadas antes da escrita, 'after' do ComplaintStatusService.refresh
+    public void updateStatuses(Map<Long, ComplaintStatus> before, Map<Long, ComplaintStatus> after) {
+        after.forEach((complaintId, status) -> {
+            var previous = before.get(complaintId);
+            if (!Objects.equals(previous, status)) {
+                apply(complaintId, target -> target.status(previous, -1).status(status, 1));
+            }
+        });
+    }
+
+    // Localização (ou bairro inteiro) que mudou de cidade leva junto as denúncias já contadas
+    public void relocate(Long locationId, Long cidadeBefore, Long cidadeAfter) {
+        if (!cidadeBefore.equals(cidadeAfter)) {
+            move(new Relocation(cidadeBefore, cidadeAfter, complaintRepository.findGeoRowsByLocalizacaoId(locationId)));
+        }
+    }
+
+    public void moveNeighborhood(Long neighborhoodId, Long cidadeBefore, Long cidadeAfter) {
+        if (!cidadeBefore.equals(cidadeAfter)) {
+            move(new Relocation(cidadeBefore, cidadeAfter, complaintRepository.findGeoRowsByBairroId(neighborhoodId)));
+        }
+    }
+
+    private void move(Relocation relocation) {
+        long moved = relocation.complaints().size();
+        lock.readLock().lock();
+        try {
+            counters.city(relocation.cidadeBefore(), -moved).city(relocation.cidadeAfter(), moved);
+            // A leitura da reconciliação pode ter pego a cidade antiga ou a nova: decide na hora de reaplicar
+            var journal = relocations;
+            if (journal != null) {
+                journal.add(relocation);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Escritas concorrentes com a leitura do banco vão para a fila de pendentes quando a leitura não vai
+    // enxergá-las (denúncia já lida ou criada depois do corte), como no ComplaintHeatmapService
+    public long reconcile() {
+        reconcileLock.lock();
+        try {
+            long start = System.nanoTime();
+            scanned = 0;
+            cutoff = Long.MAX_VALUE;
+            pending = new ConcurrentLinkedQueue<>();
+            relocations = new ConcurrentLinkedQueue<>();
+            var maxId = complaintRepository.findMaxId();
+            cutoff = maxId == null ? 0 : maxId;
+            var fresh = new Counters();
+            Map<Long, Long> cities;
+            try {
+                cities = load(fresh);
+            } catch (RuntimeException e) {
+                pending = null;
+                relocations = null;
+                throw e;
+            }
+
+            long drift;
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(fresh));
+                pending = null;
+                replay(relocations, cities, fresh);
+                relocations = null;
+                drift = loaded ? fresh.difference(counters) : 0;
+                counters = fresh;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            if (drift > 0) {
+                log.warn("Painel reconciliado com {} contagens corrigidas", drift);
+            }
+            log.info("Contadores do painel recalculados em {} ms: {} denúncias",
+                    (System.nanoTime() - start) / 1_000_000, fresh.total.sum());
+            return drift;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    // Como no ComplaintHeatmapService: denúncias até o corte só mudam de cidade se a leitura contou a localização
+    // na cidade antiga; as de depois do corte vieram pela fila e mudam sempre
+    private void replay(Queue<Relocation> journal, Map<Long, Long> cities, Counters target) {
+        Map<Long, Long> moved = new HashMap<>();
+        for (var relocation : journal) {
+            Map<Long, Boolean> countedBefore = new HashMap<>();
+            for (var row : relocation.complaints()) {
+                boolean before = countedBefore.computeIfAbsent(row.getLocalizacaoId(), locationId ->
+                        Objects.equals(relocation.cidadeBefore(), moved.getOrDefault(locationId, cities.get(locationId))));
+                if (row.getId() > cutoff || before) {
+                    target.city(relocation.cidadeBefore(), -1).city(relocation.cidadeAfter(), 1);
+                }
+            }
+            countedBefore.forEach((locationId, before) -> {
+                if (before) {
+                    moved.put(locationId, relocation.cidadeAfter());
+                }
+            });
+        }
+    }
+
+    private Map<Long, Long> load(Counters target) {
+        Map<Long, Long> cities = new HashMap<>();
+
+        long lastId = 0;
+        while (true) {
+            var batch = locationRepository.findCityRowsAfter(lastId, Limit.of(RECONCILE_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            batch.forEach(row -> cities.put(row.getId(), row.getCidadeId()));
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        long cutoff = this.cutoff;
+        lastId = 0;
+        while (lastId < cutoff) {
+            var batch = complaintRepository.findDashboardRowsAfter(lastId, Limit.of(RECONCILE_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (var row : batch) {
+                var cidadeId = cities.get(row.getLocalizacaoId());
+                if (row.getId() <= cutoff && cidadeId != null) {
+                    target.add(new Contribution(row.getOrgaoId(), cidadeId), row.getStatusAtual(), 1);
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            scanned = lastId;
+        }
+        return cities;
+    }
+
+    private void apply(long complaintId, Consumer<Counters> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(counters);
+            var journal = pending;
+            if (journal != null && (complaintId <= scanned || complaintId > cutoff)) {
+                journal.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final Map<Long, LongAdder> organizations = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> cities = new ConcurrentHashMap<>();
+        private final Map<ComplaintStatus, LongAdder> statuses = new EnumMap<>(ComplaintStatus.class);
+
+        // Preenchido de uma vez: o EnumMap só é lido depois disso
+        Counters() {
+            for (var status : ComplaintStatus.values()) {
+                statuses.put(status, new LongAdder());
+            }
+        }
+
+        void add(Contribution contribution, ComplaintStatus status, long amount) {
+            total.add(amount);
+            organization(contribution.orgaoId(), amount);
+            city(contribution.cidadeId(), amount);
+            status(status, amount);
+        }
+
+        void move(Contribution before, Contribution after, long amount) {
+            organization(before.orgaoId(), -amount);
+            organization(after.orgaoId(), amount);
+            city(before.cidadeId(), -amount);
+            city(after.cidadeId(), amount);
+        }
+
+        Counters organization(long orgaoId, long amount) {
+            organizations.computeIfAbsent(orgaoId, key -> new LongAdder()).add(amount);
+            return this;
+        }
+
+        Counters city(long cidadeId, long amount) {
+            cities.computeIfAbsent(cidadeId, key -> new LongAdder()).add(amount);
+            return this;
+        }
+
+        // Nulo só antes do backfill do ComplaintStatusService, e equivale ao padrão da entidade
+        Counters status(ComplaintStatus status, long amount) {
+            statuses.get(status == null ? ComplaintStatus.ABERTO : status).add(amount);
+            return this;
+        }
+
+        Stats stats() {
+            return new Stats(total.sum(), sums(statuses), sums(organizations), sums(cities));
+        }
+
+        // Soma das diferenças absolutas por órgão, status e cidade, só para dar uma ideia do desvio corrigido
+        long difference(Counters other) {
+            return difference(organizations, other.organizations) + difference(statuses, other.statuses)
+                    + difference(cities, other.cities);
+        }
+
+        private static <K> long difference(Map<K, LongAdder> mine, Map<K, LongAdder> other) {
+            long drift = 0;
+            for (var entry : mine.entrySet()) {
+                var previous = other.get(entry.getKey());
+                drift += Math.abs(entry.getValue().sum() - (previous == null ? 0 : previous.sum()));
+            }
+            for (var entry : other.entrySet()) {
+                if (!mine.containsKey(entry.getKey())) {
+                    drift += Math.abs(entry.getValue().sum());
+                }
+            }
+            return drift;
+        }
+
+        private static <K> Map<K, Long> sums(Map<K, LongAdder> adders) {
+            Map<K, Long> sums = new TreeMap<>();
+            adders.forEach((key, adder) -> {
+                long sum = adder.sum();
+                if (sum != 0) {
+                    sums.put(key, sum);
+                }
+            });
+            return sums;
+        }
+    }
+}
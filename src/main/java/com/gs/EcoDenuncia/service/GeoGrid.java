@@ -0,0 +1,34 @@
+package com.gs.EcoDenuncia.service;
+
+// Grade regular em graus compartilhada pelo índice de proximidade e pelo mapa de calor:
+// a célula (i, j) cobre [i * lado, (i + 1) * lado) de latitude e o mesmo em longitude
+final class GeoGrid {
+
+    static final long NO_CELL = Long.MIN_VALUE;
+
+    private GeoGrid() {
+    }
+
+    static int index(double degrees, double cellDegrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    static long key(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    static long key(Double latitude, Double longitude, double cellDegrees) {
+        if (latitude == null || longitude == null) {
+            return NO_CELL;
+        }
+        return key(index(latitude, cellDegrees), index(longitude, cellDegrees));
+    }
+
+    static int latIndex(long key) {
+        return (int) (key >> 32);
+    }
+
+    static int lonIndex(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,340 @@
+package com.gs.EcoDenuncia.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gs.EcoDenuncia.dto.Import.GeographyImportRowDTO;
+import com.gs.EcoDenuncia.dto.Import.ImportResultDTO;
+import com.gs.EcoDenuncia.model.City;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.Neighborhood;
+import com.gs.EcoDenuncia.model.State;
+import com.gs.EcoDenuncia.repository.CityRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.repository.StateRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class GeographyImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("uf", "estado", "cidade", "bairro", "logradouro", "numero", "complemento", "cep", "latitude", "longitude");
+    private static final Set<String> OPTIONAL_CSV_COLUMNS = Set.of("estado", "complemento", "latitude", "longitude");
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private NeighborhoodRepository neighborhoodRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ComplaintGeoService complaintGeoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ecodenuncia.import.chunk-size}")
+    private int chunkSize;
+
+    private record PendingLocation(long linha, Location location) {}
+
+    public ImportResultDTO importGeography(InputStream input, Format format) throws IOException {
+        var result = new ImportResultDTO();
+        var keys = new NaturalKeys();
+        var chunk = new ArrayList<PendingLocation>(chunkSize);
+
+        try (var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long linha = 0;
+            Map<String, Integer> header = null;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                linha++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                result.setLidas(result.getLidas() + 1);
+                try {
+                    var row = format == Format.CSV
+                            ? fromCsv(parseCsvLine(line), header)
+                            : objectMapper.readValue(line, GeographyImportRowDTO.class);
+                    chunk.add(new PendingLocation(linha, toLocation(row, keys)));
+                } catch (IOException | RuntimeException e) {
+                    result.addError(linha, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, keys, result);
+                }
+            }
+        }
+
+        flush(chunk, keys, result);
+        log.info("Importação de geografia concluída: {} linhas lidas, {} importadas, {} falhas",
+                result.getLidas(), result.getImportadas(), result.getFalhas());
+        return result;
+    }
+
+    // Estados, cidades e bairros novos entram na mesma transação das localizações do lote: se o lote falha,
+    // nenhum deles fica órfão no banco e as próximas linhas que precisarem deles os criam de novo.
+    // Com open-in-view o EntityManager dura a requisição inteira; o clear no fim de cada lote solta o que foi
+    // gravado, senão a memória e o dirty checking crescem com o arquivo. Os NaturalKeys seguem com as entidades
+    // destacadas, que só servem de referência de chave estrangeira.
+    private void flush(List<PendingLocation> chunk, NaturalKeys keys, ImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                keys.saveCreated();
+                locationRepository.saveAll(chunk.stream().map(PendingLocation::location).toList());
+                entityManager.flush();
+                entityManager.clear();
+            });
+            keys.commit();
+            result.setImportadas(result.getImportadas() + chunk.size());
+            chunk.forEach(pending -> {
+                if (pending.location().getLatitude() != null && pending.location().getLongitude() != null) {
+                    complaintGeoService.updateLocation(pending.location());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar lote de localizações (linhas {} a {})", chunk.get(0).linha(), chunk.get(chunk.size() - 1).linha(), e);
+            keys.rollback();
+            chunk.forEach(pending -> result.addError(pending.linha(), "Falha ao gravar o lote: " + e.getMessage()));
+        }
+        chunk.clear();
+
+        log.info("Importação de geografia: {} linhas lidas, {} importadas, {} falhas",
+                result.getLidas(), result.getImportadas(), result.getFalhas());
+    }
+
+    // Valida a linha inteira antes de resolver (e talvez criar) estado, cidade e bairro
+    private Location toLocation(GeographyImportRowDTO row, NaturalKeys keys) {
+        var cep = row.getCep() == null ? "" : row.getCep().replaceAll("\\D", "");
+        if (cep.length() != 8) {
+            throw new IllegalArgumentException("CEP deve conter 8 dígitos");
+        }
+        var uf = required(row.getUf(), "uf");
+        var cidade = required(row.getCidade(), "cidade");
+        var bairro = required(row.getBairro(), "bairro");
+        var location = Location.builder()
+                .logradouro(required(row.getLogradouro(), "logradouro"))
+                .numero(required(row.getNumero(), "numero"))
+                .complemento(row.getComplemento() == null || row.getComplemento().isBlank() ? null : row.getComplemento().trim())
+                .cep(cep)
+                .latitude(coordinate(row.getLatitude(), -90, 90, "latitude"))
+                .longitude(coordinate(row.getLongitude(), -180, 180, "longitude"))
+                .build();
+        if (!keys.hasState(uf)) {
+            required(row.getEstado(), "estado");
+        }
+
+        location.setBairro(keys.neighborhood(keys.city(keys.state(uf, row.getEstado()), cidade), bairro));
+        return location;
+    }
+
+    // Resolve estado -> cidade -> bairro pela chave natural sem ir ao banco a cada linha. Os que faltam são criados
+    // só em memória e gravados por saveCreated, dentro da transação do lote que os usa.
+    private class NaturalKeys {
+        private final Map<String, State> states = new HashMap<>();
+        private final Map<String, City> cities = new HashMap<>();
+        private final Map<String, Neighborhood> neighborhoods = new HashMap<>();
+        private final Map<String, State> createdStates = new LinkedHashMap<>();
+        private final Map<String, City> createdCities = new LinkedHashMap<>();
+        private final Map<String, Neighborhood> createdNeighborhoods = new LinkedHashMap<>();
+
+        NaturalKeys() {
+            stateRepository.findAll().forEach(s -> states.put(key(s.getUf()), s));
+            cityRepository.findAll().forEach(c -> cities.put(key(c.getEstado().getUf(), c.getNome()), c));
+            neighborhoodRepository.findAll().forEach(b -> neighborhoods.put(
+                    key(b.getCidade().getEstado().getUf(), b.getCidade().getNome(), b.getNome()), b));
+        }
+
+        boolean hasState(String uf) {
+            return states.containsKey(key(uf));
+        }
+
+        State state(String uf, String nome) {
+            return states.computeIfAbsent(key(uf), k -> created(createdStates, k, State.builder()
+                    .uf(uf.toUpperCase(Locale.ROOT))
+                    .nome(nome.trim())
+                    .build()));
+        }
+
+        City city(State estado, String nome) {
+            return cities.computeIfAbsent(key(estado.getUf(), nome), k -> created(createdCities, k, City.builder()
+                    .nome(nome)
+                    .estado(estado)
+                    .build()));
+        }
+
+        // Chave pelo nome da cidade, não pelo id: a cidade pode ter sido criada neste lote e ainda não ter id
+        Neighborhood neighborhood(City cidade, String nome) {
+            return neighborhoods.computeIfAbsent(key(cidade.getEstado().getUf(), cidade.getNome(), nome),
+                    k -> created(createdNeighborhoods, k, Neighborhood.builder()
+                            .nome(nome)
+                            .cidade(cidade)
+                            .build()));
+        }
+
+        // Pais antes dos filhos
+        void saveCreated() {
+            stateRepository.saveAll(createdStates.values());
+            cityRepository.saveAll(createdCities.values());
+            neighborhoodRepository.saveAll(createdNeighborhoods.values());
+        }
+
+        void commit() {
+            createdStates.clear();
+            createdCities.clear();
+            createdNeighborhoods.clear();
+        }
+
+        // O lote voltou: esquece os criados nele para as próximas linhas criarem de novo
+        void rollback() {
+            createdStates.keySet().forEach(states::remove);
+            createdCities.keySet().forEach(cities::remove);
+            createdNeighborhoods.keySet().forEach(neighborhoods::remove);
+            commit();
+        }
+
+        private static <T> T created(Map<String, T> created, String key, T entity) {
+            created.put(key, entity);
+            return entity;
+        }
+
+        private static String key(String... parts) {
+            return String.join("|", parts).trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static Double coordinate(Double value, double min, double max, String campo) {
+        if (value != null && (value < min || value > max)) {
+            throw new IllegalArgumentException(campo + " deve estar entre " + (int) min + " e " + (int) max);
+        }
+        return value;
+    }
+
+    private static String required(String value, String campo) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Campo obrigatório: " + campo);
+        }
+        return value.trim();
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        var columns = parseCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (var column : CSV_COLUMNS) {
+            if (!OPTIONAL_CSV_COLUMNS.contains(column) && !header.containsKey(column)) {
+                throw new IllegalArgumentException("Cabeçalho CSV sem a coluna " + column);
+            }
+        }
+        return header;
+    }
+
+    private static GeographyImportRowDTO fromCsv(List<String> values, Map<String, Integer> header) {
+        return GeographyImportRowDTO.builder()
+                .uf(column(values, header, "uf"))
+                .estado(column(values, header, "estado"))
+                .cidade(column(values, header, "cidade"))
+                .bairro(column(values, header, "bairro"))
+                .logradouro(column(values, header, "logradouro"))
+                .numero(column(values, header, "numero"))
+                .complemento(column(values, header, "complemento"))
+                .cep(column(values, header, "cep"))
+                .latitude(coordinate(column(values, header, "latitude"), "latitude"))
+                .longitude(coordinate(column(values, header, "longitude"), "longitude"))
+                .build();
+    }
+
+    private static Double coordinate(String value, String campo) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": " + value);
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> header, String name) {
+        var index = header.get(name);
+        return index == null || index >= values.size() ? null : values.get(index);
+    }
+
+    // CSV separado por vírgula, com suporte a campos entre aspas e aspas duplicadas ("")
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        var current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,126 @@
+package com.gs.EcoDenuncia.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gs.EcoDenuncia.model.IdempotencyRecord;
+import com.gs.EcoDenuncia.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Respostas de POST com Idempotency-Key. Cada chave guarda um futuro: a primeira requisição executa e completa,
+// as repetidas (inclusive as que chegam durante a execução) esperam o mesmo resultado. Em memória com tamanho e
+// TTL limitados; com ecodenuncia.idempotency.persistent=true também no banco, para sobreviver a um restart.
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${ecodenuncia.idempotency.max-entries}")
+    private long maxEntries;
+
+    @Value("${ecodenuncia.idempotency.ttl-minutes}")
+    private long ttlMinutes;
+
+    @Value("${ecodenuncia.idempotency.persistent}")
+    private boolean persistent;
+
+    private Cache<String, CompletableFuture<StoredResponse>> entries;
+
+    public record StoredResponse(String fingerprint, int status, String contentType, Map<String, String> headers, byte[] body) {}
+
+    // owner = quem chamou executa a requisição e tem que chamar complete ou release com o mesmo futuro
+    public record Claim(boolean owner, CompletableFuture<StoredResponse> future) {}
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public Claim claim(String key) {
+        var mine = new CompletableFuture<StoredResponse>();
+        var existing = entries.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            return new Claim(false, existing);
+        }
+        if (persistent) {
+            var stored = idempotencyRecordRepository.findById(key)
+                    .filter(found -> found.getCriadoEm().isAfter(LocalDateTime.now().minusMinutes(ttlMinutes)));
+            if (stored.isPresent()) {
+                var record = stored.get();
+                mine.complete(new StoredResponse(record.getFingerprint(), record.getStatus(), record.getContentType(),
+                        decodeHeaders(record.getCabecalhos()), record.getCorpo()));
+                return new Claim(false, mine);
+            }
+        }
+        return new Claim(true, mine);
+    }
+
+    public void complete(String key, CompletableFuture<StoredResponse> future, StoredResponse response) {
+        if (persistent) {
+            try {
+                idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                        .chave(key)
+                        .fingerprint(response.fingerprint())
+                        .status(response.status())
+                        .contentType(response.contentType())
+                        .cabecalhos(encodeHeaders(response.headers()))
+                        .corpo(response.body())
+                        .criadoEm(LocalDateTime.now())
+                        .build());
+            } catch (DataAccessException e) {
+                // A resposta continua valendo em memória; só não sobrevive a um restart
+                log.warn("Falha ao gravar a chave de idempotência {}", key, e);
+            }
+        }
+        future.complete(response);
+    }
+
+    // Execução que não deve ser repetida como resposta (erro ou recusa): libera a chave para uma nova tentativa
+    // e acorda quem estava esperando, que volta a disputar a chave
+    public void release(String key, CompletableFuture<StoredResponse> future) {
+        entries.asMap().remove(key, future);
+        future.complete(null);
+    }
+
+    private static String encodeHeaders(Map<String, String> headers) {
+        var encoded = new StringBuilder();
+        headers.forEach((name, value) -> encoded.append(name).append(": ").append(value).append('\n'));
+        return encoded.toString();
+    }
+
+    private static Map<String, String> decodeHeaders(String encoded) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (encoded != null) {
+            encoded.lines()
+                    .filter(line -> line.contains(": "))
+                    .forEach(line -> headers.put(line.substring(0, line.indexOf(": ")), line.substring(line.indexOf(": ") + 2)));
+        }
+        return headers;
+    }
+
+    @Scheduled(fixedDelayString = "${ecodenuncia.idempotency.purge-interval-ms}")
+    void purgeExpired() {
+        if (persistent) {
+            int removed = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(ttlMinutes));
+            if (removed > 0) {
+                log.info("{} chaves de idempotência expiradas removidas", removed);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gs.EcoDenuncia.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gs.EcoDenuncia.config.RateLimitProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token bucket por rota e por chave (usuário ou IP) no formato GCRA: em vez de fichas e horário da última reposição,
+// cada chave guarda só o instante teórico em que o balde volta a ficar cheio, num AtomicLong atualizado por CAS.
+// As chaves ficam num Caffeine por rota (ConcurrentHashMap por baixo, sem lock na leitura); uma chave parada há
+// mais que o tempo de encher o balde equivale a um balde cheio e pode sair sem perder nada.
+@Service
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class RateLimitService {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    private final List<Limiter> limiters = new ArrayList<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public record Stats(long chaves, long aceitas, long rejeitadas) {}
+
+    @PostConstruct
+    void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        properties.getRoutes().forEach((name, route) -> {
+            if (route.getPath() == null || route.getCapacity() < 1 || route.getPerMinute() <= 0) {
+                throw new IllegalStateException("Limite de requisições inválido para a rota " + name);
+            }
+            limiters.add(new Limiter(route, properties.getMaxKeys()));
+            log.info("Limite de requisições em {} {}: rajada de {}, {} por minuto",
+                    route.getMethod(), route.getPath(), route.getCapacity(), route.getPerMinute());
+        });
+    }
+
+    public boolean isEnabled() {
+        return !limiters.isEmpty();
+    }
+
+    // Nulo quando a rota não tem limite
+    public Limiter limiterFor(String method, String path) {
+        for (var limiter : limiters) {
+            if (limiter.route.getMethod().equalsIgnoreCase(method) && limiter.route.getPath().equals(path)) {
+                return limiter;
+            }
+        }
+        return null;
+    }
+
+    public Stats stats() {
+        long keys = limiters.stream().mapToLong(limiter -> limiter.buckets.estimatedSize()).sum();
+        return new Stats(keys, allowed.sum(), rejected.sum());
+    }
+
+    public final class Limiter {
+        private final RateLimitProperties.Route route;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+
+        Limiter(RateLimitProperties.Route route, long maxKeys) {
+            this.route = route;
+            this.intervalNanos = Math.max(1, (long) (Duration.ofMinutes(1).toNanos() / route.getPerMinute()));
+            this.burstNanos = intervalNanos * route.getCapacity();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(burstNanos))
+                    .build();
+        }
+
+        // 0 quando a requisição passa; senão, quantos nanossegundos faltam para a próxima ficha
+        public long acquire(String key) {
+            long now = System.nanoTime();
+            var bucket = buckets.get(key, ignored -> new AtomicLong(now));
+            while (true) {
+                long full = bucket.get();
+                long next = (full - now > 0 ? full : now) + intervalNanos;
+                long wait = next - burstNanos - now;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (bucket.compareAndSet(full, next)) {
+                    allowed.increment();
+                    return 0;
+                }
+            }
+        }
+    }
+}
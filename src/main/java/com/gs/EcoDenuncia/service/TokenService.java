@@ -1,21 +1,58 @@
 package com.gs.EcoDenuncia.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.gs.EcoDenuncia.model.RoleType;
 import com.gs.EcoDenuncia.model.Token;
 import com.gs.EcoDenuncia.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
 
 @Service
 public class TokenService {
 
     private final Algorithm algorithm = Algorithm.HMAC256("secret");
 
+    // JWTVerifier é imutável e thread-safe: monta uma vez e reaproveita em todas as requisições
+    private final JWTVerifier verifier = JWT.require(algorithm).build();
+
+    // Tokens já verificados, indexados pelo SHA-256 do token. Cada entrada expira no 'exp' do próprio token e,
+    // cheio, o Caffeine descarta os menos usados sozinho: nada de varredura no caminho da requisição
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private Ticker ticker = Ticker.systemTicker();
+
+    @Value("${ecodenuncia.auth.token-cache.max-entries}")
+    private int maxCachedTokens;
+
+    private record VerifiedToken(Long id, String email, RoleType role, Instant expiresAt) {}
+
+    @PostConstruct
+    void buildCache() {
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(Expiry.creating((String key, VerifiedToken verified) ->
+                        Duration.between(Instant.now(), verified.expiresAt())))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
     private Instant generateExpirationDate() {
         return LocalDateTime.now().plusDays(1).toInstant(ZoneOffset.of("-03:00"));
     }
@@ -35,12 +72,54 @@ public class TokenService {
 
 
     public User getUserFromToken(String token) {
-        var verifiedToken = JWT.require(algorithm).build().verify(token);
+        var key = digest(token);
+        var cached = verifiedTokens.getIfPresent(key);
+
+        if (cached != null) {
+            return toUser(cached);
+        }
+
+        var verifiedToken = verifier.verify(token);
+
+        var verified = new VerifiedToken(
+                Long.valueOf(verifiedToken.getSubject()),
+                verifiedToken.getClaim("email").asString(),
+                RoleType.valueOf(verifiedToken.getClaim("role").asString()),
+                verifiedToken.getExpiresAtAsInstant());
 
+        if (verified.expiresAt() != null) {
+            verifiedTokens.put(key, verified);
+        }
+
+        return toUser(verified);
+    }
+
+    public long cachedTokens() {
+        return verifiedTokens.estimatedSize();
+    }
+
+    public long cacheHits() {
+        return verifiedTokens.stats().hitCount();
+    }
+
+    public long cacheMisses() {
+        return verifiedTokens.stats().missCount();
+    }
+
+    private static User toUser(VerifiedToken verified) {
         return User.builder()
-                .id(Long.valueOf(verifiedToken.getSubject()))
-                .email(verifiedToken.getClaim("email").asString())
-                .role(RoleType.valueOf(verifiedToken.getClaim("role").asString()))
+                .id(verified.id())
+                .email(verified.email())
+                .role(verified.role())
                 .build();
     }
+
+    private static String digest(String token) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -4,6 +4,8 @@ import com.gs.EcoDenuncia.controller.ComplaintController;
 import com.gs.EcoDenuncia.model.Complaint;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class ComplaintSpecification {
 
     public static Specification<Complaint> withFilters(ComplaintController.ComplaintFilters filters) {
@@ -31,14 +33,29 @@ public class ComplaintSpecification {
             if (filters.localizacaoCidade() != null && !filters.localizacaoCidade().isEmpty()) {
                 predicates = criteriaBuilder.and(predicates,
                         criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("localizacao").get("cidade")),
+                                criteriaBuilder.lower(root.get("localizacao").get("bairro").get("cidade").get("nome")),
                                 "%" + filters.localizacaoCidade().toLowerCase() + "%"
                         )
                 );
             }
 
+            // Igualdade exata nas colunas do índice (id_orgao, status_atual)
+            if (filters.idOrgao() != null) {
+                predicates = criteriaBuilder.and(predicates,
+                        criteriaBuilder.equal(root.get("orgao").get("id"), filters.idOrgao()));
+            }
+
+            if (filters.status() != null) {
+                predicates = criteriaBuilder.and(predicates,
+                        criteriaBuilder.equal(root.get("statusAtual"), filters.status()));
+            }
+
             return predicates;
         };
     }
+
+    public static Specification<Complaint> withIds(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
 }
 
@@ -0,0 +1,98 @@
+package com.gs.EcoDenuncia.specification;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Set;
+
+public class KeysetSpecification {
+
+    // Posição da última linha vista: (chave de ordenação, id) + a ordenação usada para gerá-la
+    public record Cursor(String property, Sort.Direction direction, String value, Long id) {
+
+        public static Cursor of(String property, Sort.Direction direction, Object value, Long id) {
+            return new Cursor(property, direction, format(value), id);
+        }
+
+        public String encode() {
+            var raw = property + "|" + direction.name() + "|" + value + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String token) {
+            try {
+                var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                var parts = raw.split("\\|", 4);
+                return new Cursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[2], Long.valueOf(parts[3]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+        }
+    }
+
+    // Ordenação (propriedade, direção) a partir do Pageable; só a primeira ordem é considerada
+    public static Sort.Order resolveOrder(Sort sort, Set<String> allowedProperties) {
+        var order = sort.stream().findFirst().orElse(Sort.Order.desc("id"));
+        if (!allowedProperties.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Ordenação não suportada no modo cursor: " + order.getProperty());
+        }
+        return order;
+    }
+
+    public static Sort sortFor(Sort.Order order) {
+        var sort = Sort.by(order.getDirection(), order.getProperty());
+        return order.getProperty().equals("id") ? sort : sort.and(Sort.by(order.getDirection(), "id"));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(Cursor cursor) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+
+            if (cursor.property().equals("id")) {
+                return cursor.direction().isAscending()
+                        ? cb.greaterThan(id, cursor.id())
+                        : cb.lessThan(id, cursor.id());
+            }
+
+            Path<Comparable> key = root.get(cursor.property());
+            Comparable value = parse(cursor.value(), key.getJavaType());
+
+            if (cursor.direction().isAscending()) {
+                return cb.or(cb.greaterThan(key, value),
+                        cb.and(cb.equal(key, value), cb.greaterThan(id, cursor.id())));
+            }
+            return cb.or(cb.lessThan(key, value),
+                    cb.and(cb.equal(key, value), cb.lessThan(id, cursor.id())));
+        };
+    }
+
+    // Date vem do banco como java.sql.Timestamp, com a precisão da coluna: getTime() cortaria os micro/nanossegundos
+    // e o desempate por (valor, id) deixaria de valer para linhas no mesmo milissegundo
+    private static String format(Object value) {
+        if (value instanceof Date date) {
+            return date.toInstant().toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private static Comparable<?> parse(String value, Class<?> type) {
+        if (LocalDateTime.class.equals(type)) {
+            return LocalDateTime.parse(value);
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            return Timestamp.from(Instant.parse(value));
+        }
+        if (Long.class.equals(type)) {
+            return Long.valueOf(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,10 @@
+-- Ajusta as sequences existentes ao allocationSize = 50 das entidades (alocação de IDs em blocos).
+-- Executar uma vez em bancos criados antes da mudança; o Hibernate recusa subir se o INCREMENT BY divergir.
+ALTER SEQUENCE SEQ_TBL_ESTADO INCREMENT BY 50;
+ALTER SEQUENCE SEQ_TBL_CIDADE INCREMENT BY 50;
+ALTER SEQUENCE SEQ_TBL_BAIRRO INCREMENT BY 50;
+ALTER SEQUENCE SEQ_TBL_LOCALIZACAO INCREMENT BY 50;
+ALTER SEQUENCE SEQ_TBL_ORGAOS_PUBLICOS INCREMENT BY 50;
+ALTER SEQUENCE SEQ_TBL_USUARIOS INCREMENT BY 50;
+ALTER SEQUENCE SEQ_TBL_DENUNCIAS INCREMENT BY 50;
+ALTER SEQUENCE SEQ_ACOMPANHAMENTO INCREMENT BY 50;
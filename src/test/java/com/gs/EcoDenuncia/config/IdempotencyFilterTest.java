@@ -0,0 +1,203 @@
+package com.gs.EcoDenuncia.config;
+
+import com.gs.EcoDenuncia.controller.ComplaintController;
+import com.gs.EcoDenuncia.model.RoleType;
+import com.gs.EcoDenuncia.model.User;
+import com.gs.EcoDenuncia.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"descricao\":\"Descarte irregular de lixo\"}";
+
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        var service = new IdempotencyService();
+        ReflectionTestUtils.setField(service, "maxEntries", 1000L);
+        ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "persistent", false);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        filter = new IdempotencyFilter();
+        ReflectionTestUtils.setField(filter, "idempotencyService", service);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyExecuteOnce() throws Exception {
+        int threads = 8;
+        var inside = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            inside.countDown();
+            await(proceed);
+            created(request.getInputStream().readAllBytes(), (HttpServletResponse) response);
+        };
+
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                responses.add(pool.submit(() -> post(1L, "chave-1", BODY, slowCreate)));
+            }
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+            // Dá tempo para as outras requisições chegarem enquanto a primeira ainda executa
+            Thread.sleep(200);
+            proceed.countDown();
+
+            int replayed = 0;
+            for (var future : responses) {
+                var response = future.get(10, TimeUnit.SECONDS);
+                assertEquals(201, response.getStatus());
+                assertEquals("{\"id\":1}", response.getContentAsString());
+                assertEquals("/complaints/1", response.getHeader(HttpHeaders.LOCATION));
+                if ("true".equals(response.getHeader(IdempotencyFilter.REPLAYED_HEADER))) {
+                    replayed++;
+                }
+            }
+            assertEquals(1, executions.get());
+            assertEquals(threads - 1, replayed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void replayRestoresTheWhitelistedHeaders() throws Exception {
+        post(1L, "chave-1", BODY, this::createdWithDuplicate);
+
+        var replay = post(1L, "chave-1", BODY, this::createdWithDuplicate);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, replay.getStatus());
+        assertEquals("true", replay.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("/complaints/1", replay.getHeader(HttpHeaders.LOCATION));
+        assertEquals("7", replay.getHeader(ComplaintController.POSSIBLE_DUPLICATE_HEADER));
+        assertNull(replay.getHeader("X-Outro"));
+        assertEquals("application/json", replay.getContentType());
+    }
+
+    @Test
+    void sameKeyWithAnotherBodyIsRejected() throws Exception {
+        post(1L, "chave-1", BODY, this::created);
+
+        var response = post(1L, "chave-1", "{\"descricao\":\"Outra coisa\"}", this::created);
+
+        assertEquals(422, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void onlySuccessfulResponsesAreReplayed() throws Exception {
+        FilterChain rejects = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(400);
+        };
+
+        var first = post(1L, "chave-1", BODY, rejects);
+        var retry = post(1L, "chave-1", BODY, this::created);
+        var replay = post(1L, "chave-1", BODY, this::created);
+
+        assertEquals(400, first.getStatus());
+        assertEquals(201, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("true", replay.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void keysAreScopedByUser() throws Exception {
+        post(1L, "chave-1", BODY, this::created);
+        var other = post(2L, "chave-1", BODY, this::created);
+
+        assertNull(other.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void blankKeyIsABadRequest() throws Exception {
+        var response = post(1L, "  ", BODY, this::created);
+
+        assertEquals(400, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    private MockHttpServletResponse post(long userId, String key, String body, FilterChain chain) throws Exception {
+        var user = User.builder().id(userId).email("usuario" + userId + "@ecodenuncia.com").role(RoleType.USER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        try {
+            var request = new MockHttpServletRequest("POST", "/complaints");
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+            request.setContentType("application/json");
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+            var response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            return response;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void created(ServletRequest request, ServletResponse response) throws IOException {
+        created(request.getInputStream().readAllBytes(), (HttpServletResponse) response);
+    }
+
+    private void createdWithDuplicate(ServletRequest request, ServletResponse response) throws IOException {
+        var http = (HttpServletResponse) response;
+        http.setHeader(ComplaintController.POSSIBLE_DUPLICATE_HEADER, "7");
+        http.setHeader("X-Outro", "não repete");
+        created(request, response);
+    }
+
+    private void created(byte[] body, HttpServletResponse response) throws IOException {
+        assertEquals(BODY, new String(body, StandardCharsets.UTF_8));
+        executions.incrementAndGet();
+        response.setStatus(201);
+        response.setHeader(HttpHeaders.LOCATION, "/complaints/1");
+        response.setContentType("application/json");
+        response.getWriter().write("{\"id\":1}");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.gs.EcoDenuncia.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class JdbcGateConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withBean(DataSource.class, () -> new DriverManagerDataSource("jdbc:h2:mem:gate"))
+            .withUserConfiguration(JdbcGateConfig.class)
+            .withPropertyValues("spring.datasource.hikari.maximum-pool-size=10",
+                    "ecodenuncia.jdbc.gate.permits=10", "ecodenuncia.jdbc.gate.timeout-ms=2000");
+
+    @Test
+    void dataSourceIsNotWrappedByDefault() {
+        runner.run(context -> assertFalse(context.getBean(DataSource.class) instanceof GatedDataSource));
+        runner.withPropertyValues("ecodenuncia.jdbc.gate.enabled=false")
+                .run(context -> assertFalse(context.getBean(DataSource.class) instanceof GatedDataSource));
+    }
+
+    @Test
+    void dataSourceIsWrappedWhenEnabled() {
+        runner.withPropertyValues("ecodenuncia.jdbc.gate.enabled=true")
+                .run(context -> assertInstanceOf(GatedDataSource.class, context.getBean(DataSource.class)));
+    }
+
+    // Mais permissões que conexões faria a requisição esperar duas vezes: no limitador e de novo no Hikari
+    @Test
+    void morePermitsThanPooledConnectionsIsRejected() {
+        runner.withPropertyValues("ecodenuncia.jdbc.gate.enabled=true", "ecodenuncia.jdbc.gate.permits=11")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+}
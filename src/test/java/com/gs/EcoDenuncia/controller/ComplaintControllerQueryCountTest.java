@@ -0,0 +1,115 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.model.City;
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.Neighborhood;
+import com.gs.EcoDenuncia.model.PublicOrganization;
+import com.gs.EcoDenuncia.model.RoleType;
+import com.gs.EcoDenuncia.model.State;
+import com.gs.EcoDenuncia.model.User;
+import com.gs.EcoDenuncia.repository.CityRepository;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.repository.PublicOrganizationRepository;
+import com.gs.EcoDenuncia.repository.StateRepository;
+import com.gs.EcoDenuncia.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static com.gs.EcoDenuncia.support.QueryCountAssertions.maxQueries;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A listagem monta os DTOs numa projeção só: o número de consultas não pode crescer com o tamanho da página
+@SpringBootTest(properties = "ecodenuncia.query-count.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ComplaintControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private NeighborhoodRepository neighborhoodRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private PublicOrganizationRepository publicOrganizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    private User admin;
+
+    @BeforeEach
+    void seed() {
+        var estado = stateRepository.save(State.builder().nome("São Paulo").uf("SP").build());
+        var cidade = cityRepository.save(City.builder().nome("São Paulo").estado(estado).build());
+        var bairro = neighborhoodRepository.save(Neighborhood.builder().nome("Moema").cidade(cidade).build());
+        var orgao = publicOrganizationRepository.save(PublicOrganization.builder().nome("Prefeitura").areaAtuacao("Urbana").build());
+        admin = userRepository.save(User.builder().nome("Admin").email("admin@ecodenuncia.com").senha("12345").role(RoleType.ADMIN).build());
+
+        // Uma localização por denúncia, para um N+1 em localização/bairro/cidade aparecer na contagem
+        complaintRepository.saveAll(IntStream.rangeClosed(1, 15)
+                .mapToObj(i -> Complaint.builder()
+                        .usuario(admin)
+                        .orgao(orgao)
+                        .localizacao(locationRepository.save(Location.builder()
+                                .logradouro("Rua " + i).numero(String.valueOf(i)).cep("01001000").bairro(bairro).build()))
+                        .dataHora(LocalDateTime.of(2025, 5, 1, 12, 0).plusHours(i))
+                        .descricao("Descarte irregular de lixo " + i)
+                        .build())
+                .toList());
+    }
+
+    @AfterEach
+    void clean() {
+        complaintRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+        neighborhoodRepository.deleteAllInBatch();
+        cityRepository.deleteAllInBatch();
+        stateRepository.deleteAllInBatch();
+        publicOrganizationRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void offsetPageRunsPageAndCountQueriesOnly() throws Exception {
+        mockMvc.perform(get("/complaints").param("size", "10").with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(maxQueries(2));
+    }
+
+    @Test
+    void keysetPageRunsASingleQuery() throws Exception {
+        mockMvc.perform(get("/complaints").param("cursor", "").param("size", "10").with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(maxQueries(1));
+    }
+}
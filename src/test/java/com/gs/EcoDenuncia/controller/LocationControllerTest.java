@@ -0,0 +1,136 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.gs.EcoDenuncia.model.City;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.Neighborhood;
+import com.gs.EcoDenuncia.model.RoleType;
+import com.gs.EcoDenuncia.model.State;
+import com.gs.EcoDenuncia.model.User;
+import com.gs.EcoDenuncia.repository.CityRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.repository.StateRepository;
+import com.gs.EcoDenuncia.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Coordenadas fora da faixa ou sem o par são recusadas antes de gravar
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LocationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private NeighborhoodRepository neighborhoodRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private Neighborhood bairro;
+
+    @BeforeEach
+    void seed() {
+        var estado = stateRepository.save(State.builder().nome("São Paulo").uf("SP").build());
+        var cidade = cityRepository.save(City.builder().nome("São Paulo").estado(estado).build());
+        bairro = neighborhoodRepository.save(Neighborhood.builder().nome("Moema").cidade(cidade).build());
+        admin = userRepository.save(User.builder().nome("Admin").email("admin@ecodenuncia.com").senha("12345").role(RoleType.ADMIN).build());
+    }
+
+    @AfterEach
+    void clean() {
+        locationRepository.deleteAllInBatch();
+        neighborhoodRepository.deleteAllInBatch();
+        cityRepository.deleteAllInBatch();
+        stateRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createRejectsOutOfRangeCoordinates() throws Exception {
+        mockMvc.perform(post("/location").with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON).content(body("91", "-46.6")))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Latitude deve estar entre -90 e 90"));
+        mockMvc.perform(post("/location").with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON).content(body("-23.5", "-180.5")))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Longitude deve estar entre -180 e 180"));
+
+        assertEquals(0, locationRepository.count());
+    }
+
+    @Test
+    void createRejectsHalfAPair() throws Exception {
+        mockMvc.perform(post("/location").with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON).content(body("-23.5", "null")))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, locationRepository.count());
+    }
+
+    @Test
+    void createAcceptsBothOrNeither() throws Exception {
+        mockMvc.perform(post("/location").with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON).content(body("-23.5", "-46.6")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latitude").value(-23.5));
+        mockMvc.perform(post("/location").with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON).content(body("null", "null")))
+                .andExpect(status().isOk());
+
+        assertEquals(2, locationRepository.count());
+    }
+
+    @Test
+    void updateRejectsOutOfRangeCoordinatesWithoutSaving() throws Exception {
+        var location = locationRepository.save(Location.builder()
+                .logradouro("Rua 1").numero("1").cep("01001000").bairro(bairro).build());
+
+        mockMvc.perform(put("/location/" + location.getId()).with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON).content(body("-23.5", "200")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/location/" + location.getId()).with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON).content(body("null", "-46.6")))
+                .andExpect(status().isBadRequest());
+
+        var saved = locationRepository.findById(location.getId()).orElseThrow();
+        assertNull(saved.getLatitude());
+        assertNull(saved.getLongitude());
+    }
+
+    private String body(String latitude, String longitude) {
+        return """
+                {"logradouro": "Rua 1", "numero": "1", "cep": "01001000", "idBairro": %d,
+                 "latitude": %s, "longitude": %s}
+                """.formatted(bairro.getId(), latitude, longitude);
+    }
+}
@@ -0,0 +1,163 @@
+package com.gs.EcoDenuncia.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gs.EcoDenuncia.model.City;
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.Neighborhood;
+import com.gs.EcoDenuncia.model.PublicOrganization;
+import com.gs.EcoDenuncia.model.ReportFollowup;
+import com.gs.EcoDenuncia.model.RoleType;
+import com.gs.EcoDenuncia.model.State;
+import com.gs.EcoDenuncia.model.User;
+import com.gs.EcoDenuncia.repository.CityRepository;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.repository.PublicOrganizationRepository;
+import com.gs.EcoDenuncia.repository.ReportFollowupRepository;
+import com.gs.EcoDenuncia.repository.StateRepository;
+import com.gs.EcoDenuncia.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.gs.EcoDenuncia.support.QueryCountAssertions.maxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cada acompanhamento aponta para uma denúncia diferente, para um N+1 na denúncia (EAGER) aparecer na contagem
+@SpringBootTest(properties = "ecodenuncia.query-count.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReportFollowupControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private NeighborhoodRepository neighborhoodRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private PublicOrganizationRepository publicOrganizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private ReportFollowupRepository reportFollowupRepository;
+
+    private User admin;
+    private List<ReportFollowup> followups;
+
+    @BeforeEach
+    void seed() {
+        var estado = stateRepository.save(State.builder().nome("São Paulo").uf("SP").build());
+        var cidade = cityRepository.save(City.builder().nome("São Paulo").estado(estado).build());
+        var bairro = neighborhoodRepository.save(Neighborhood.builder().nome("Moema").cidade(cidade).build());
+        var localizacao = locationRepository.save(Location.builder()
+                .logradouro("Rua 1").numero("1").cep("01001000").bairro(bairro).build());
+        var orgao = publicOrganizationRepository.save(PublicOrganization.builder().nome("Prefeitura").areaAtuacao("Urbana").build());
+        admin = userRepository.save(User.builder().nome("Admin").email("admin@ecodenuncia.com").senha("12345").role(RoleType.ADMIN).build());
+
+        // Sete acompanhamentos no mesmo milissegundo, separados só pelos microssegundos, e mais três depois
+        var base = LocalDateTime.of(2025, 5, 1, 12, 0, 0, 123_000_000);
+        followups = reportFollowupRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> ReportFollowup.builder()
+                        .status("Em Andamento")
+                        .descricao("Acompanhamento " + i)
+                        .dataAtualizacao(Timestamp.valueOf(i < 7 ? base.plusNanos((i % 3) * 1_000L) : base.plusSeconds(i)))
+                        .denuncia(complaintRepository.save(Complaint.builder()
+                                .usuario(admin)
+                                .orgao(orgao)
+                                .localizacao(localizacao)
+                                .dataHora(LocalDateTime.of(2025, 5, 1, 12, 0))
+                                .descricao("Descarte irregular de lixo " + i)
+                                .build()))
+                        .build())
+                .toList());
+    }
+
+    @AfterEach
+    void clean() {
+        reportFollowupRepository.deleteAllInBatch();
+        complaintRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+        neighborhoodRepository.deleteAllInBatch();
+        cityRepository.deleteAllInBatch();
+        stateRepository.deleteAllInBatch();
+        publicOrganizationRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void offsetPageRunsPageAndCountQueriesOnly() throws Exception {
+        mockMvc.perform(get("/followup").param("size", "5").with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5))
+                .andExpect(maxQueries(2));
+    }
+
+    // Páginas de 2 por dataAtualizacao: o cursor leva os microssegundos, então nenhuma linha do mesmo
+    // milissegundo some ou se repete entre páginas
+    @Test
+    void keysetPagesByDataAtualizacaoVisitEveryRowOnce() throws Exception {
+        for (var direction : List.of("asc", "desc")) {
+            var comparator = Comparator.comparing(ReportFollowup::getDataAtualizacao).thenComparing(ReportFollowup::getId);
+            var expected = followups.stream()
+                    .sorted(direction.equals("asc") ? comparator : comparator.reversed())
+                    .map(ReportFollowup::getId)
+                    .toList();
+
+            List<Long> seen = new ArrayList<>();
+            var cursor = "";
+            for (int pages = 1; cursor != null; pages++) {
+                assertTrue(pages <= followups.size(), "Paginação não terminou: " + seen);
+                var body = mockMvc.perform(get("/followup")
+                                .param("cursor", cursor)
+                                .param("size", "2")
+                                .param("sort", "dataAtualizacao," + direction)
+                                .with(user(admin)))
+                        .andExpect(status().isOk())
+                        .andExpect(maxQueries(1))
+                        .andReturn().getResponse().getContentAsString();
+                var page = objectMapper.readTree(body);
+                page.get("content").forEach(row -> seen.add(row.get("id").asLong()));
+                cursor = page.get("next").isNull() ? null : page.get("next").asText();
+            }
+
+            assertEquals(expected, seen, direction);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComplaintDuplicateServiceTest {
+
+    private static final String LIXO = "Descarte irregular de lixo e entulho na calçada da Rua das Flores, em frente ao número 120";
+    private static final String LIXO_REESCRITO = "Descarte irregular de lixo e entulho na calcada da rua das Flores, em frente ao nº 120!";
+    private static final String ARVORE = "Árvore caída bloqueando a pista depois do temporal de ontem à noite, risco para motoristas";
+    private static final String ESGOTO = "Esgoto a céu aberto escorrendo para o córrego atrás da escola estadual do bairro";
+
+    private ComplaintDuplicateService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ComplaintDuplicateService();
+        ReflectionTestUtils.setField(service, "similarity", 0.6);
+        ReflectionTestUtils.setField(service, "windowDays", 180L);
+    }
+
+    @Test
+    void rewrittenDescriptionAtTheSameLocationIsFlagged() {
+        assertTrue(service.index(complaint(1, 1, LIXO)).isEmpty());
+
+        var match = service.index(complaint(2, 1, LIXO_REESCRITO));
+
+        assertTrue(match.isPresent());
+        assertEquals(1, match.get().complaintId());
+        assertTrue(match.get().similaridade() >= 0.6);
+    }
+
+    @Test
+    void differentDescriptionIsNotFlagged() {
+        service.index(complaint(1, 1, LIXO));
+        service.index(complaint(2, 1, ARVORE));
+
+        assertTrue(service.index(complaint(3, 1, ESGOTO)).isEmpty());
+    }
+
+    @Test
+    void sameDescriptionAtAnotherLocationIsNotFlagged() {
+        service.index(complaint(1, 1, LIXO));
+
+        assertTrue(service.index(complaint(2, 2, LIXO)).isEmpty());
+    }
+
+    @Test
+    void accentsCaseAndPunctuationDoNotChangeTheSignature() {
+        assertEquals("arvore caida na rua", ComplaintDuplicateService.normalize("  Árvore CAÍDA, na rua!! "));
+        assertArrayEquals(ComplaintDuplicateService.signature("Árvore caída"), ComplaintDuplicateService.signature("arvore  CAIDA"));
+        assertNull(ComplaintDuplicateService.signature(" ?! "));
+    }
+
+    @Test
+    void clustersGroupSimilarComplaintsPerLocationAndFollowRemovals() {
+        service.index(complaint(1, 1, LIXO));
+        service.index(complaint(2, 1, ARVORE));
+        service.index(complaint(3, 1, LIXO_REESCRITO));
+        service.index(complaint(4, 2, ESGOTO));
+        service.index(complaint(5, 2, ESGOTO));
+        service.index(complaint(6, 2, ESGOTO + "."));
+
+        assertEquals(List.of(
+                new ComplaintDuplicateService.Cluster(2, List.of(4L, 5L, 6L)),
+                new ComplaintDuplicateService.Cluster(1, List.of(1L, 3L))), service.clusters(10));
+        assertEquals(1, service.clusters(1).size());
+
+        service.delete(1L, 1L);
+        service.delete(5L, 2L);
+
+        assertEquals(List.of(new ComplaintDuplicateService.Cluster(2, List.of(4L, 6L))), service.clusters(10));
+        assertEquals(4, service.stats().denuncias());
+    }
+
+    // A remoção move a última denúncia para o lugar da removida: a assinatura tem que ir junto com o id
+    @Test
+    void matchStillPointsToTheRightComplaintAfterARemoval() {
+        service.index(complaint(1, 1, ARVORE));
+        service.index(complaint(2, 1, ESGOTO));
+        service.index(complaint(3, 1, LIXO));
+        service.delete(1L, 1L);
+
+        assertEquals(3, service.index(complaint(4, 1, LIXO_REESCRITO)).orElseThrow().complaintId());
+        assertEquals(2, service.index(complaint(5, 1, ESGOTO)).orElseThrow().complaintId());
+    }
+
+    @Test
+    void complaintOutsideTheWindowIsComparedButNotStored() {
+        service.index(complaint(1, 1, LIXO));
+
+        var old = complaint(2, 1, LIXO_REESCRITO);
+        old.setDataHora(LocalDateTime.now().minusDays(365));
+
+        assertEquals(1, service.index(old).orElseThrow().complaintId());
+        assertEquals(1, service.stats().denuncias());
+    }
+
+    private static Complaint complaint(long id, long locationId, String descricao) {
+        return Complaint.builder()
+                .id(id)
+                .localizacao(Location.builder().id(locationId).build())
+                .dataHora(LocalDateTime.now().minusDays(1))
+                .descricao(descricao)
+                .build();
+    }
+}
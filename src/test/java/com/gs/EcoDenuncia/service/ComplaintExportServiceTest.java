@@ -0,0 +1,82 @@
+package com.gs.EcoDenuncia.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gs.EcoDenuncia.dto.Complaint.ComplaintResponseDTO;
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ComplaintExportServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ComplaintRepository complaintRepository;
+    private ComplaintExportService service;
+
+    @BeforeEach
+    void setUp() {
+        complaintRepository = mock(ComplaintRepository.class);
+        service = new ComplaintExportService();
+        ReflectionTestUtils.setField(service, "complaintRepository", complaintRepository);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "fetchSize", 100);
+        when(complaintRepository.streamResponses(any(), any(), anyInt())).thenAnswer(invocation -> rows().stream());
+    }
+
+    @Test
+    void csvHasTheSameFieldsAsNdjson() throws Exception {
+        var csv = export(ComplaintExportService.Format.CSV).split("\n");
+        var json = objectMapper.readTree(export(ComplaintExportService.Format.NDJSON).split("\n")[0]);
+
+        List<String> header = List.of(csv[0].split(","));
+        List<String> jsonFields = new ArrayList<>();
+        json.fieldNames().forEachRemaining(jsonFields::add);
+        assertEquals(jsonFields, header);
+    }
+
+    @Test
+    void csvRowsCarryTheCurrentStatus() throws Exception {
+        var csv = export(ComplaintExportService.Format.CSV).split("\n");
+
+        assertEquals(3, csv.length);
+        assertEquals("1,Ana,\"Lixo na calçada, perto da praça\",2025-05-20T15:00,Prefeitura,Rua A,10,Moema,São Paulo,SP,"
+                + "EM_ANDAMENTO,2025-05-21T09:30", csv[1]);
+        assertEquals("2,Bruno,\"Esgoto \"\"a céu aberto\"\"\",2025-05-20T16:00,Sabesp,Rua B,20,Moema,São Paulo,SP,ABERTO,", csv[2]);
+    }
+
+    private String export(ComplaintExportService.Format format) throws Exception {
+        var output = new ByteArrayOutputStream();
+        assertEquals(2, service.export(null, format, output));
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<ComplaintResponseDTO> rows() {
+        return List.of(
+                ComplaintResponseDTO.builder()
+                        .id(1L).nomeUsuario("Ana").descricao("Lixo na calçada, perto da praça")
+                        .dataHora(LocalDateTime.of(2025, 5, 20, 15, 0)).nomeOrgao("Prefeitura")
+                        .logradouro("Rua A").numero("10").bairro("Moema").cidade("São Paulo").estado("SP")
+                        .statusAtual(ComplaintStatus.EM_ANDAMENTO).dataUltimaAtualizacao(LocalDateTime.of(2025, 5, 21, 9, 30))
+                        .build(),
+                ComplaintResponseDTO.builder()
+                        .id(2L).nomeUsuario("Bruno").descricao("Esgoto \"a céu aberto\"")
+                        .dataHora(LocalDateTime.of(2025, 5, 20, 16, 0)).nomeOrgao("Sabesp")
+                        .logradouro("Rua B").numero("20").bairro("Moema").cidade("São Paulo").estado("SP")
+                        .statusAtual(ComplaintStatus.ABERTO)
+                        .build());
+    }
+}
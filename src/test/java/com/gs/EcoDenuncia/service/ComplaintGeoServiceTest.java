@@ -0,0 +1,137 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.PublicOrganization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ComplaintGeoServiceTest {
+
+    private static final double EARTH_RADIUS_M = 6_371_008.8;
+    private static final double CELL_DEGREES = 0.01;
+
+    // Centro perto da borda sul de uma célula: 999 m ao norte já cai na célula de cima
+    private static final double LAT = -23.5555;
+    private static final double LON = -46.6345;
+
+    private ComplaintGeoService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ComplaintGeoService();
+        ReflectionTestUtils.setField(service, "cellDegrees", CELL_DEGREES);
+    }
+
+    @Test
+    void radiusIncludesPointsJustInsideAndExcludesPointsJustOutside() {
+        service.index(complaint(1, 1, LAT + northOf(999), LON));
+        service.index(complaint(2, 2, LAT + northOf(1001), LON));
+        service.index(complaint(3, 3, LAT - northOf(999), LON));
+        service.index(complaint(4, 4, LAT - northOf(1001), LON));
+
+        var result = service.nearby(LAT, LON, 1000, null, null, null, 10);
+
+        assertEquals(List.of(1L, 3L), ids(result));
+        assertEquals(2, result.total());
+        assertNotEquals(GeoGrid.index(LAT, CELL_DEGREES), GeoGrid.index(LAT + northOf(999), CELL_DEGREES));
+    }
+
+    @Test
+    void pointOnTheCenterIsAtZeroDistance() {
+        service.index(complaint(1, 1, LAT, LON));
+
+        var result = service.nearby(LAT, LON, 0, null, null, null, 10);
+
+        assertEquals(List.of(1L), ids(result));
+        assertEquals(0, result.hits().get(0).distanceMeters());
+    }
+
+    // Com truncamento em vez de floor, -0.0005 e 0.0005 cairiam na mesma célula 0 e a grade perderia vizinhos
+    @Test
+    void negativeCoordinatesAroundTheEquatorAndTheMeridianAreFound() {
+        service.index(complaint(1, 1, 0.0005, 0.0005));
+        service.index(complaint(2, 2, 0.0005, -0.0005));
+        service.index(complaint(3, 3, -0.0005, 0.0005));
+        service.index(complaint(4, 4, -0.0005, -0.0005));
+
+        var result = service.nearby(0, 0, 100, null, null, null, 10);
+
+        assertEquals(4, result.total());
+        assertEquals(-1, GeoGrid.index(-0.0005, CELL_DEGREES));
+        assertEquals(0, GeoGrid.index(0.0005, CELL_DEGREES));
+    }
+
+    @Test
+    void gridKeysRoundTripNegativeIndexes() {
+        long key = GeoGrid.key(-2356, -4664);
+
+        assertEquals(-2356, GeoGrid.latIndex(key));
+        assertEquals(-4664, GeoGrid.lonIndex(key));
+        assertEquals(GeoGrid.NO_CELL, GeoGrid.key(null, LON, CELL_DEGREES));
+    }
+
+    @Test
+    void limitKeepsTheNearestOrderedByDistanceThenId() {
+        for (int i = 5; i >= 1; i--) {
+            service.index(complaint(i, i, LAT + northOf(i * 100), LON));
+        }
+        // Mesma localização da denúncia 2: empata na distância e desempata pelo id
+        service.index(complaint(6, 2, LAT + northOf(200), LON));
+
+        var result = service.nearby(LAT, LON, 1000, null, null, null, 3);
+
+        assertEquals(List.of(1L, 2L, 6L), ids(result));
+        assertEquals(6, result.total());
+    }
+
+    // Raio muito maior que as células ocupadas: a busca percorre as células existentes em vez do retângulo
+    @Test
+    void largeRadiusGivesTheSameAnswerAsTheCellWalk() {
+        for (int i = 1; i <= 5; i++) {
+            service.index(complaint(i, i, LAT + northOf(i * 100), LON - northOf(i * 50)));
+        }
+        // Células ocupadas longe dali: o raio de 1 km percorre o retângulo, o de 50 km as células existentes
+        for (int i = 0; i < 20; i++) {
+            service.index(complaint(100 + i, 100 + i, 10.0 + i, 10.0));
+        }
+
+        var small = service.nearby(LAT, LON, 1000, null, null, null, 10);
+        var large = service.nearby(LAT, LON, 50_000, null, null, null, 10);
+
+        assertEquals(ids(small), ids(large));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(large));
+    }
+
+    @Test
+    void locationWithoutCoordinatesIsNeverReturned() {
+        service.index(complaint(1, 1, null, null));
+
+        assertEquals(0, service.nearby(LAT, LON, 50_000, null, null, null, 10).total());
+        assertEquals(0, service.stats().celulas());
+    }
+
+    private static double northOf(double meters) {
+        return Math.toDegrees(meters / EARTH_RADIUS_M);
+    }
+
+    private static List<Long> ids(ComplaintGeoService.NearbyResult result) {
+        return result.hits().stream().map(ComplaintGeoService.Hit::complaintId).toList();
+    }
+
+    private static Complaint complaint(long id, long locationId, Double latitude, Double longitude) {
+        return Complaint.builder()
+                .id(id)
+                .localizacao(Location.builder().id(locationId).latitude(latitude).longitude(longitude).build())
+                .orgao(PublicOrganization.builder().id(1L).build())
+                .dataHora(LocalDateTime.of(2025, 5, 20, 15, 0).plusMinutes(id))
+                .build();
+    }
+}
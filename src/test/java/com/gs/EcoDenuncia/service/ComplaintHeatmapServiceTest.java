@@ -0,0 +1,147 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.Neighborhood;
+import com.gs.EcoDenuncia.repository.ComplaintGeoView;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationHeatView;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Localização 1 muda do bairro 10 para o bairro 20 enquanto a reconciliação lê o banco
+class ComplaintHeatmapServiceTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2025, 5, 20, 15, 0);
+    private static final double LAT = -23.5505;
+    private static final double LON = -46.6333;
+
+    private ComplaintRepository complaintRepository;
+    private LocationRepository locationRepository;
+    private ComplaintHeatmapService service;
+
+    private final List<ComplaintGeoView> complaints = new ArrayList<>();
+    private long bairroNoBanco = 10;
+
+    @BeforeEach
+    void setUp() {
+        complaintRepository = mock(ComplaintRepository.class);
+        locationRepository = mock(LocationRepository.class);
+        service = new ComplaintHeatmapService();
+        ReflectionTestUtils.setField(service, "complaintRepository", complaintRepository);
+        ReflectionTestUtils.setField(service, "locationRepository", locationRepository);
+        ReflectionTestUtils.setField(service, "cellDegrees", 0.01);
+        ReflectionTestUtils.setField(service, "maxZoom", 10);
+
+        complaints.add(row(1));
+        complaints.add(row(2));
+        when(complaintRepository.findMaxId()).thenAnswer(invocation -> (long) complaints.size());
+        when(complaintRepository.findGeoRowsByLocalizacaoId(1L)).thenAnswer(invocation -> List.copyOf(complaints));
+        scanLocations(() -> {});
+        scanComplaints(() -> {});
+        service.reconcile();
+        assertEquals(2, service.neighborhood(10, null, null));
+    }
+
+    // A atualização da localização chega ao banco antes de a reconciliação ler as localizações
+    @Test
+    void relocationAlreadySeenByTheScanIsNotAppliedTwice() {
+        scanLocations(this::moveLocation);
+
+        assertEquals(0, service.reconcile());
+
+        assertEquals(0, service.neighborhood(10, null, null));
+        assertEquals(2, service.neighborhood(20, null, null));
+    }
+
+    // A atualização chega depois da leitura das localizações, no meio da leitura das denúncias
+    @Test
+    void relocationAfterTheLocationScanIsReplayed() {
+        scanComplaints(this::moveLocation);
+
+        assertEquals(0, service.reconcile());
+
+        assertEquals(0, service.neighborhood(10, null, null));
+        assertEquals(2, service.neighborhood(20, null, null));
+    }
+
+    // Denúncia criada depois do corte no lugar antigo e levada junto pela relocação
+    @Test
+    void complaintAfterTheCutoffMovesWithTheLocation() {
+        scanLocations(() -> {
+            complaints.add(row(3));
+            service.add(complaint(3, 10));
+            moveLocation();
+        });
+        when(complaintRepository.findMaxId()).thenReturn(2L);
+
+        assertEquals(0, service.reconcile());
+
+        assertEquals(0, service.neighborhood(10, null, null));
+        assertEquals(3, service.neighborhood(20, null, null));
+    }
+
+    @Test
+    void reconcileWithoutWritesKeepsTheCounts() {
+        assertEquals(0, service.reconcile());
+
+        assertEquals(2, service.neighborhood(10, null, null));
+        assertEquals(1, service.cells(10, null, null, null).size());
+        assertEquals(2, service.cells(10, null, null, null).get(0).total());
+    }
+
+    private void moveLocation() {
+        var before = new ComplaintHeatmapService.Place(10, GeoGrid.key(LAT, LON, 0.01));
+        bairroNoBanco = 20;
+        service.relocate(1L, before, new ComplaintHeatmapService.Place(20, GeoGrid.key(LAT, LON, 0.01)));
+    }
+
+    private void scanLocations(Runnable during) {
+        when(locationRepository.findHeatRowsAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            during.run();
+            return List.of(new HeatRow(1L, bairroNoBanco, LAT, LON));
+        });
+        when(locationRepository.findHeatRowsAfter(eq(1L), any(Limit.class))).thenReturn(List.of());
+    }
+
+    private void scanComplaints(Runnable during) {
+        when(complaintRepository.findGeoRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            if ((long) invocation.getArgument(0) > 0) {
+                return List.of();
+            }
+            during.run();
+            return List.copyOf(complaints);
+        });
+    }
+
+    private static Complaint complaint(long id, long bairroId) {
+        return Complaint.builder()
+                .id(id)
+                .localizacao(Location.builder().id(1L).latitude(LAT).longitude(LON)
+                        .bairro(Neighborhood.builder().id(bairroId).build()).build())
+                .dataHora(DATA)
+                .build();
+    }
+
+    private static ComplaintGeoView row(long id) {
+        return new GeoRow(id, 1L, 1L, DATA);
+    }
+
+    private record GeoRow(Long getId, Long getLocalizacaoId, Long getOrgaoId, LocalDateTime getDataHora) implements ComplaintGeoView {}
+
+    private record HeatRow(Long getId, Long getBairroId, Double getLatitude, Double getLongitude) implements LocationHeatView {}
+}
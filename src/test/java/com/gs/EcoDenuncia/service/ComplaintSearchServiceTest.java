@@ -0,0 +1,111 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.ComplaintTextView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ComplaintSearchServiceTest {
+
+    @TempDir
+    private Path indexDir;
+
+    private ComplaintRepository complaintRepository;
+    private ComplaintSearchService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        complaintRepository = mock(ComplaintRepository.class);
+        service = new ComplaintSearchService();
+        ReflectionTestUtils.setField(service, "complaintRepository", complaintRepository);
+        ReflectionTestUtils.setField(service, "indexDir", indexDir);
+        service.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.close();
+    }
+
+    @Test
+    void writesBecomeVisibleOnTheScheduledRefresh() {
+        service.index(1L, "Lixo acumulado na calçada");
+        assertEquals(List.of(), search("lixo"));
+
+        service.refresh();
+
+        assertEquals(List.of(1L), search("lixo"));
+    }
+
+    // O lote é lido do banco antes de a denúncia 2 ser removida e a 3 editada: a reconstrução não pode trazer a 2
+    // de volta nem regravar o texto velho da 3, e a 99, que não existe mais no banco, sai do índice
+    @Test
+    void rebuildKeepsLiveWritesMadeWhileItRuns() {
+        service.index(1L, "Lixo acumulado na calçada");
+        service.index(2L, "Entulho na rua");
+        service.index(99L, "Fantasma que não existe mais no banco");
+
+        when(complaintRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            var batch = List.of(row(1L, "Lixo acumulado na calçada"), row(2L, "Entulho na rua"), row(3L, "Lixo queimado no terreno"));
+            service.delete(2L);
+            service.index(3L, "Árvore caída na pista");
+            service.index(1L, "Lixo acumulado na calçada da escola");
+            return batch;
+        });
+        when(complaintRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Limit.class))).thenReturn(List.of());
+
+        assertEquals(3, service.rebuild());
+
+        assertEquals(List.of(1L), search("lixo"));
+        assertEquals(1, service.search("lixo", PageRequest.of(0, 10)).totalHits());
+        assertEquals(List.of(1L), search("escola"));
+        assertEquals(List.of(), search("entulho"));
+        assertEquals(List.of(3L), search("árvore"));
+        assertEquals(List.of(), search("fantasma"));
+    }
+
+    @Test
+    void rebuildWithoutConcurrentWritesDoesNotDuplicateDocuments() {
+        service.index(1L, "Lixo acumulado na calçada");
+        when(complaintRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(row(1L, "Lixo acumulado na calçada"), row(2L, "Lixo no córrego")));
+        when(complaintRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Limit.class))).thenReturn(List.of());
+
+        service.rebuild();
+        service.rebuild();
+
+        assertEquals(2, service.search("lixo", PageRequest.of(0, 10)).totalHits());
+    }
+
+    private List<Long> search(String text) {
+        return service.search(text, PageRequest.of(0, 10)).ids();
+    }
+
+    private static ComplaintTextView row(Long id, String descricao) {
+        return new ComplaintTextView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDescricao() {
+                return descricao;
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.model.City;
+import com.gs.EcoDenuncia.model.Complaint;
+import com.gs.EcoDenuncia.model.ComplaintStatus;
+import com.gs.EcoDenuncia.model.Location;
+import com.gs.EcoDenuncia.model.Neighborhood;
+import com.gs.EcoDenuncia.model.PublicOrganization;
+import com.gs.EcoDenuncia.repository.ComplaintDashboardView;
+import com.gs.EcoDenuncia.repository.ComplaintGeoView;
+import com.gs.EcoDenuncia.repository.ComplaintRepository;
+import com.gs.EcoDenuncia.repository.LocationCityView;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Localizações 1 e 2 (bairro 10) passam da cidade 100 para a 200 durante a leitura da reconciliação
+class DashboardCounterServiceTest {
+
+    private ComplaintRepository complaintRepository;
+    private LocationRepository locationRepository;
+    private DashboardCounterService service;
+
+    // id da denúncia -> localização
+    private final Map<Long, Long> complaints = new HashMap<>(Map.of(1L, 1L, 2L, 1L, 3L, 2L));
+    // localização -> cidade, como está no banco
+    private final Map<Long, Long> cities = new HashMap<>(Map.of(1L, 100L, 2L, 100L));
+
+    @BeforeEach
+    void setUp() {
+        complaintRepository = mock(ComplaintRepository.class);
+        locationRepository = mock(LocationRepository.class);
+        service = new DashboardCounterService();
+        ReflectionTestUtils.setField(service, "complaintRepository", complaintRepository);
+        ReflectionTestUtils.setField(service, "locationRepository", locationRepository);
+
+        when(complaintRepository.findMaxId()).thenAnswer(invocation -> (long) complaints.size());
+        when(complaintRepository.findGeoRowsByLocalizacaoId(anyLong())).thenAnswer(invocation ->
+                geoRows(invocation.getArgument(0)));
+        when(complaintRepository.findGeoRowsByBairroId(10L)).thenAnswer(invocation -> geoRows(null));
+        scanLocations(() -> {});
+        scanComplaints(() -> {});
+        service.reconcile();
+        assertEquals(Map.of(100L, 3L), service.stats().porCidade());
+    }
+
+    @Test
+    void relocationAlreadySeenByTheScanIsNotAppliedTwice() {
+        scanLocations(() -> moveNeighborhood());
+
+        assertEquals(0, service.reconcile());
+
+        assertEquals(Map.of(200L, 3L), service.stats().porCidade());
+    }
+
+    @Test
+    void relocationAfterTheLocationScanIsReplayed() {
+        scanComplaints(() -> moveNeighborhood());
+
+        assertEquals(0, service.reconcile());
+
+        assertEquals(Map.of(200L, 3L), service.stats().porCidade());
+    }
+
+    // Só a localização 1 muda; a 2 continua na cidade 100
+    @Test
+    void singleLocationMoveKeepsTheOtherLocations() {
+        scanLocations(() -> {
+            cities.put(1L, 200L);
+            service.relocate(1L, 100L, 200L);
+        });
+
+        assertEquals(0, service.reconcile());
+
+        assertEquals(Map.of(100L, 1L, 200L, 2L), service.stats().porCidade());
+    }
+
+    @Test
+    void complaintAfterTheCutoffMovesWithTheNeighborhood() {
+        scanLocations(() -> {
+            complaints.put(4L, 2L);
+            service.add(complaint(4, 2, 100));
+            moveNeighborhood();
+        });
+        when(complaintRepository.findMaxId()).thenReturn(3L);
+
+        assertEquals(0, service.reconcile());
+
+        assertEquals(Map.of(200L, 4L), service.stats().porCidade());
+        assertEquals(4, service.stats().total());
+    }
+
+    private void moveNeighborhood() {
+        cities.replaceAll((locationId, cidadeId) -> 200L);
+        service.moveNeighborhood(10L, 100L, 200L);
+    }
+
+    // 'during' roda antes da leitura devolver as linhas, como uma escrita concorrente com o SELECT
+    private void scanLocations(Runnable during) {
+        when(locationRepository.findCityRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            if ((long) invocation.getArgument(0) > 0) {
+                return List.of();
+            }
+            during.run();
+            List<LocationCityView> rows = new ArrayList<>();
+            cities.forEach((id, cidadeId) -> rows.add(new CityRow(id, cidadeId)));
+            rows.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            return rows;
+        });
+    }
+
+    private void scanComplaints(Runnable during) {
+        when(complaintRepository.findDashboardRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            if ((long) invocation.getArgument(0) > 0) {
+                return List.of();
+            }
+            during.run();
+            List<ComplaintDashboardView> rows = new ArrayList<>();
+            complaints.forEach((id, locationId) -> rows.add(new DashboardRow(id, locationId, 1L, ComplaintStatus.ABERTO)));
+            rows.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            return rows;
+        });
+    }
+
+    private List<ComplaintGeoView> geoRows(Long locationId) {
+        List<ComplaintGeoView> rows = new ArrayList<>();
+        complaints.forEach((id, location) -> {
+            if (locationId == null || locationId.equals(location)) {
+                rows.add(new GeoRow(id, location, 1L, LocalDateTime.of(2025, 5, 20, 15, 0)));
+            }
+        });
+        return rows;
+    }
+
+    private static Complaint complaint(long id, long locationId, long cidadeId) {
+        return Complaint.builder()
+                .id(id)
+                .orgao(PublicOrganization.builder().id(1L).build())
+                .localizacao(Location.builder().id(locationId)
+                        .bairro(Neighborhood.builder().id(10L).cidade(City.builder().id(cidadeId).build()).build()).build())
+                .statusAtual(ComplaintStatus.ABERTO)
+                .build();
+    }
+
+    private record GeoRow(Long getId, Long getLocalizacaoId, Long getOrgaoId, LocalDateTime getDataHora) implements ComplaintGeoView {}
+
+    private record DashboardRow(Long getId, Long getLocalizacaoId, Long getOrgaoId, ComplaintStatus getStatusAtual) implements ComplaintDashboardView {}
+
+    private record CityRow(Long getId, Long getCidadeId) implements LocationCityView {}
+}
@@ -0,0 +1,76 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.repository.CityRepository;
+import com.gs.EcoDenuncia.repository.LocationRepository;
+import com.gs.EcoDenuncia.repository.NeighborhoodRepository;
+import com.gs.EcoDenuncia.repository.StateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "ecodenuncia.import.chunk-size=3")
+@ActiveProfiles("test")
+class GeographyImportServiceTest {
+
+    @Autowired
+    private GeographyImportService geographyImportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private NeighborhoodRepository neighborhoodRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    // 10 linhas em lotes de 3, dentro de um EntityManager preso à thread como no open-in-view
+    @Test
+    void importsMoreRowsThanAChunkWithoutKeepingThemInThePersistenceContext() throws Exception {
+        var rows = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> (i % 2 == 0 ? "SP,São Paulo,São Paulo,Moema" : "RJ,Rio de Janeiro,Niterói,Icaraí")
+                        + ",Rua " + i + "," + i + ",,0100100" + (i % 10) + ",-23.5" + i + ",-46.6" + i)
+                .collect(Collectors.joining("\n"));
+        var csv = "uf,estado,cidade,bairro,logradouro,numero,complemento,cep,latitude,longitude\n"
+                + rows + "\nMG,Minas Gerais,Belo Horizonte,Centro,,1,,30000000,,\n";
+
+        var entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            var result = geographyImportService.importGeography(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), GeographyImportService.Format.CSV);
+
+            assertEquals(11, result.getLidas());
+            assertEquals(10, result.getImportadas());
+            assertEquals(1, result.getFalhas());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        // Pais criados num lote e reaproveitados nos seguintes; a linha recusada não deixou MG para trás
+        assertEquals(2, stateRepository.count());
+        assertEquals(2, cityRepository.count());
+        assertEquals(2, neighborhoodRepository.count());
+        assertEquals(10, locationRepository.count());
+    }
+}
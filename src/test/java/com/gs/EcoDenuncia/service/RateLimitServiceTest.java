@@ -0,0 +1,121 @@
+package com.gs.EcoDenuncia.service;
+
+import com.gs.EcoDenuncia.config.RateLimitFilter;
+import com.gs.EcoDenuncia.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitServiceTest {
+
+    @Test
+    void burstUpToCapacityThenOneRequestPerInterval() throws Exception {
+        // Rajada de 3 e uma ficha a cada 100 ms
+        var limiter = service(route("/complaints", 3, 600)).limiterFor("POST", "/complaints");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("u:1"), "requisição " + (i + 1) + " da rajada");
+        }
+        long wait = limiter.acquire("u:1");
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100), "espera de " + wait + " ns");
+
+        // Depois da rajada, passa uma por intervalo
+        for (int i = 0; i < 3; i++) {
+            TimeUnit.NANOSECONDS.sleep(limiter.acquire("u:1") + TimeUnit.MILLISECONDS.toNanos(2));
+            assertEquals(0, limiter.acquire("u:1"));
+            assertTrue(limiter.acquire("u:1") > 0);
+        }
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        var service = service(route("/login", 1, 1));
+        var limiter = service.limiterFor("POST", "/login");
+
+        assertEquals(0, limiter.acquire("ip:10.0.0.1"));
+        assertTrue(limiter.acquire("ip:10.0.0.1") > 0);
+        assertEquals(0, limiter.acquire("ip:10.0.0.2"));
+
+        var stats = service.stats();
+        assertEquals(2, stats.aceitas());
+        assertEquals(1, stats.rejeitadas());
+    }
+
+    @Test
+    void onlyConfiguredRoutesAreLimited() {
+        var service = service(route("/complaints", 1, 1));
+
+        assertTrue(service.isEnabled());
+        assertNull(service.limiterFor("GET", "/complaints"));
+        assertNull(service.limiterFor("POST", "/followup"));
+    }
+
+    @Test
+    void disabledServiceHasNoLimiters() {
+        var properties = new RateLimitProperties();
+        properties.setEnabled(false);
+        properties.getRoutes().put("complaints", route("/complaints", 1, 1));
+
+        assertFalse(service(properties).isEnabled());
+    }
+
+    @Test
+    void invalidRouteFailsOnStartup() {
+        assertThrows(IllegalStateException.class, () -> service(route("/complaints", 0, 1)));
+    }
+
+    // Uma ficha por minuto: a segunda requisição volta 429 e o Retry-After arredonda a espera para cima
+    @Test
+    void filterAnswersTooManyRequestsWithRetryAfter() throws Exception {
+        var filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "rateLimitService", service(route("/complaints", 1, 1)));
+
+        var first = post(filter);
+        var second = post(filter);
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("60", second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(second.getContentAsString().contains("message"));
+    }
+
+    private static MockHttpServletResponse post(RateLimitFilter filter) throws Exception {
+        var request = new MockHttpServletRequest("POST", "/complaints");
+        request.setRemoteAddr("10.0.0.1");
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RateLimitService service(RateLimitProperties.Route route) {
+        var properties = new RateLimitProperties();
+        properties.getRoutes().put("rota", route);
+        return service(properties);
+    }
+
+    private static RateLimitService service(RateLimitProperties properties) {
+        var service = new RateLimitService();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        service.init();
+        return service;
+    }
+
+    private static RateLimitProperties.Route route(String path, int capacity, double perMinute) {
+        var route = new RateLimitProperties.Route();
+        route.setPath(path);
+        route.setCapacity(capacity);
+        route.setPerMinute(perMinute);
+        return route;
+    }
+}
@@ -0,0 +1,77 @@
+package com.gs.EcoDenuncia.service;
+
+import com.auth0.jwt.JWT;
+import com.gs.EcoDenuncia.model.RoleType;
+import com.gs.EcoDenuncia.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private TokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenService();
+        ReflectionTestUtils.setField(service, "maxCachedTokens", 3);
+        ReflectionTestUtils.setField(service, "ticker", (Ticker) nanos::get);
+        service.buildCache();
+    }
+
+    @Test
+    void verifiedTokenIsServedFromTheCache() {
+        var token = service.createToken(user(1)).token();
+
+        assertEquals(1L, service.getUserFromToken(token).getId());
+        var user = service.getUserFromToken(token);
+
+        assertEquals("user1@ecodenuncia.com", user.getEmail());
+        assertEquals(RoleType.USER, user.getRole());
+        assertEquals(1, service.cacheHits());
+        assertEquals(1, service.cacheMisses());
+    }
+
+    // Passado o 'exp', a entrada some e o próximo uso volta a verificar a assinatura
+    @Test
+    void entryExpiresWithTheToken() {
+        var token = service.createToken(user(1)).token();
+        var remaining = Duration.between(Instant.now(), JWT.decode(token).getExpiresAtAsInstant());
+        service.getUserFromToken(token);
+
+        nanos.addAndGet(remaining.minusMinutes(1).toNanos());
+        service.getUserFromToken(token);
+        assertEquals(1, service.cacheHits());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        service.getUserFromToken(token);
+        assertEquals(1, service.cacheHits());
+        assertEquals(2, service.cacheMisses());
+    }
+
+    @Test
+    void cacheStaysBoundedWhenFull() {
+        var tokens = IntStream.rangeClosed(1, 10).mapToObj(i -> service.createToken(user(i)).token()).toList();
+
+        tokens.forEach(service::getUserFromToken);
+        tokens.forEach(token -> assertEquals(tokens.indexOf(token) + 1L, service.getUserFromToken(token).getId()));
+
+        ((Cache<?, ?>) ReflectionTestUtils.getField(service, "verifiedTokens")).cleanUp();
+        assertTrue(service.cachedTokens() <= 3);
+    }
+
+    private static User user(long id) {
+        return User.builder().id(id).email("user" + id + "@ecodenuncia.com").role(RoleType.USER).build();
+    }
+}
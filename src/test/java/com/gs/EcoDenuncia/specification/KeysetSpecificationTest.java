@@ -0,0 +1,98 @@
+package com.gs.EcoDenuncia.specification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetSpecificationTest {
+
+    @Test
+    void cursorByIdSurvivesEncodeAndDecode() {
+        var cursor = KeysetSpecification.Cursor.of("id", Sort.Direction.DESC, 42L, 42L);
+
+        var decoded = KeysetSpecification.Cursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals("42", decoded.value());
+        assertEquals(42L, decoded.id());
+    }
+
+    @Test
+    void cursorByDataHoraKeepsTheTimestampToTheNanosecond() {
+        var dataHora = LocalDateTime.of(2025, 5, 21, 15, 0, 7, 123_456_789);
+        var cursor = KeysetSpecification.Cursor.of("dataHora", Sort.Direction.ASC, dataHora, 7L);
+
+        var decoded = KeysetSpecification.Cursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(dataHora, LocalDateTime.parse(decoded.value()));
+    }
+
+    // Date lido do banco é um java.sql.Timestamp com a precisão da coluna; milissegundos não bastam para o desempate
+    @Test
+    void cursorByDateKeepsTheSubMillisecondPart() {
+        var dataAtualizacao = Timestamp.valueOf(LocalDateTime.of(2025, 5, 21, 15, 0, 7, 123_456_000));
+        var cursor = KeysetSpecification.Cursor.of("dataAtualizacao", Sort.Direction.DESC, dataAtualizacao, 7L);
+
+        var decoded = KeysetSpecification.Cursor.decode(cursor.encode());
+
+        assertEquals(dataAtualizacao.toInstant(), Instant.parse(decoded.value()));
+    }
+
+    // Denúncias com a mesma dataHora só se distinguem pelo id: o cursor tem que levar o id junto
+    @Test
+    void tiedSortKeysAreTellApartByTheId() {
+        var dataHora = LocalDateTime.of(2025, 5, 21, 15, 0);
+        var first = KeysetSpecification.Cursor.of("dataHora", Sort.Direction.DESC, dataHora, 10L);
+        var second = KeysetSpecification.Cursor.of("dataHora", Sort.Direction.DESC, dataHora, 9L);
+
+        assertNotEquals(first.encode(), second.encode());
+
+        var decodedFirst = KeysetSpecification.Cursor.decode(first.encode());
+        var decodedSecond = KeysetSpecification.Cursor.decode(second.encode());
+        assertEquals(decodedFirst.value(), decodedSecond.value());
+        assertEquals(10L, decodedFirst.id());
+        assertEquals(9L, decodedSecond.id());
+    }
+
+    @Test
+    void sortByDataHoraBreaksTiesById() {
+        var sort = KeysetSpecification.sortFor(Sort.Order.desc("dataHora"));
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "dataHora").and(Sort.by(Sort.Direction.DESC, "id")), sort);
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), KeysetSpecification.sortFor(Sort.Order.asc("id")));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        var cursor = KeysetSpecification.Cursor.of("dataHora", Sort.Direction.DESC, LocalDateTime.of(2025, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+        assertTrue(cursor.encode().matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetSpecification.Cursor.decode("não é base64"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetSpecification.Cursor.decode(
+                Base64.getUrlEncoder().encodeToString("id|DESC|42".getBytes())));
+        assertThrows(IllegalArgumentException.class, () -> KeysetSpecification.Cursor.decode(
+                Base64.getUrlEncoder().encodeToString("id|PARA_CIMA|42|42".getBytes())));
+    }
+
+    @Test
+    void onlyAllowedPropertiesResolve() {
+        assertEquals(Sort.Order.desc("id"), KeysetSpecification.resolveOrder(Sort.unsorted(), Set.of("id", "dataHora")));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetSpecification.resolveOrder(Sort.by("descricao"), Set.of("id", "dataHora")));
+    }
+}
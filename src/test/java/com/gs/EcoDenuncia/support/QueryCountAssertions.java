@@ -0,0 +1,43 @@
+package com.gs.EcoDenuncia.support;
+
+import com.gs.EcoDenuncia.config.QueryCountFilter;
+import com.gs.EcoDenuncia.config.QueryCounter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Limites de consultas para testes de integração. Exigem ecodenuncia.query-count.enabled=true no contexto de teste.
+//   mockMvc.perform(get("/complaints")).andExpect(maxQueries(3));
+//   var page = assertMaxQueries(2, () -> complaintRepository.findAll(spec, pageable));
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static ResultMatcher maxQueries(int max) {
+        return result -> {
+            var header = result.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+            assertNotNull(header, "Resposta sem " + QueryCountFilter.QUERY_COUNT_HEADER + ", o contador está habilitado?");
+            int count = Integer.parseInt(header);
+            assertTrue(count <= max, () -> result.getRequest().getRequestURI() + " executou " + count + " consultas, limite " + max);
+        };
+    }
+
+    public static <T> T assertMaxQueries(int max, Supplier<T> action) {
+        boolean owner = QueryCounter.start();
+        try {
+            var result = action.get();
+            var snapshot = QueryCounter.current();
+            assertTrue(snapshot.statements() <= max,
+                    () -> snapshot.statements() + " consultas executadas, limite " + max + ": " + snapshot.statementsByShape());
+            return result;
+        } finally {
+            if (owner) {
+                QueryCounter.stop();
+            }
+        }
+    }
+}